@@ -58,6 +58,10 @@ public class AppConfig {
 
     // Các thông tin cache
     public static final String CACHE_ARTICLES = "articles";
+    public static final String CACHE_ARTICLE_SUMMARIES = "article-summaries";
+    public static final String CACHE_FEEDS = "feeds";
+    public static final String CACHE_ARTICLE_VERSIONS = "article-versions";
+    public static final String CACHE_USERS = "users";
     public static final String CACHE_CATEGORIES = "categories";
     public static final String CACHE_TAGS = "tags";
     public static final long CACHE_EXPIRATION = 3600; // 1 hour
@@ -0,0 +1,47 @@
+package com.example.newswebsite.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cấu hình cache Caffeine. Các cache được khai báo sẵn tên để actuator đăng ký
+ * metrics (cache.gets, cache.puts, cache.evictions) ngay khi khởi động.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.articles.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String articlesSpec;
+
+    @Value("${cache.feeds.spec:maximumSize=2000,expireAfterWrite=60s,recordStats}")
+    private String feedsSpec;
+
+    // Hết hạn ngắn để instance khác không trả 304 mãi cho bài viết đã sửa
+    @Value("${cache.article-versions.spec:maximumSize=10000,expireAfterWrite=60s}")
+    private String articleVersionsSpec;
+
+    @Value("${cache.users.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String usersSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(articlesSpec);
+        // Chỉ dùng các cache đã khai báo, không tạo cache động
+        cacheManager.setCacheNames(List.of(AppConfig.CACHE_ARTICLES, AppConfig.CACHE_ARTICLE_SUMMARIES));
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(AppConfig.CACHE_FEEDS, Caffeine.from(feedsSpec).build());
+        cacheManager.registerCustomCache(AppConfig.CACHE_USERS, Caffeine.from(usersSpec).build());
+        cacheManager.registerCustomCache(AppConfig.CACHE_ARTICLE_VERSIONS, Caffeine.from(articleVersionsSpec).build());
+        return cacheManager;
+    }
+}
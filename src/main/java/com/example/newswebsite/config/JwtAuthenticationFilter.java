@@ -31,13 +31,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = request.getHeader("Authorization");
         if (token != null && token.startsWith("Bearer ")) {
             token = token.substring(7);
-            if (jwtService.validateToken(token)) {
-                String googleId = jwtService.getGoogleIdFromToken(token);
-                String role = jwtService.getRoleFromToken(token);
+            // Xác minh một lần, subject và role lấy từ cùng kết quả
+            JwtService.TokenClaims claims = jwtService.verifyToken(token);
+            if (claims != null && claims.getRole() != null) {
                 List<GrantedAuthority> authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+                        new SimpleGrantedAuthority("ROLE_" + claims.getRole().toUpperCase()));
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        googleId, null, authorities);
+                        claims.getSubject(), null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
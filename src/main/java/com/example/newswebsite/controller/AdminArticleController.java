@@ -1,15 +1,23 @@
 package com.example.newswebsite.controller;
 
+import java.io.IOException;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.domain.response.ArticleImportResult;
+import com.example.newswebsite.service.ArticleImportService;
 import com.example.newswebsite.service.ArticleService;
+import com.example.newswebsite.service.JwtService;
 import com.example.newswebsite.util.ArticleStatus;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,10 +28,25 @@ import lombok.extern.slf4j.Slf4j;
 public class AdminArticleController {
 
     private final ArticleService articleService;
+    private final ArticleImportService articleImportService;
+    private final JwtService jwtService;
+
     @PutMapping("/{articleId}/unpublish")
     public ResponseEntity<Article> unpublishArticle(@PathVariable Integer articleId) {
         log.info("Unpublishing article {}", articleId);
         Article article = articleService.updateArticleStatus(articleId, ArticleStatus.PENDING);
         return ResponseEntity.ok(article);
     }
-}
\ No newline at end of file
+
+    /**
+     * Import bài viết hàng loạt. Body là NDJSON (application/x-ndjson) hoặc mảng
+     * JSON, được đọc dần nên không giới hạn số bản ghi.
+     */
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "application/json" })
+    public ResponseEntity<ArticleImportResult> importArticles(HttpServletRequest request,
+            @RequestHeader("Authorization") String token) throws IOException {
+        String googleId = jwtService.getGoogleIdFromToken(token.replace("Bearer ", ""));
+        log.info("Starting article import by {}", googleId);
+        return ResponseEntity.ok(articleImportService.importArticles(request.getInputStream(), googleId));
+    }
+}
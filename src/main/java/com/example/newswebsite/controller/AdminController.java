@@ -6,7 +6,7 @@ import com.example.newswebsite.domain.User;
 import com.example.newswebsite.domain.request.ArticleUpdateRequest;
 import com.example.newswebsite.domain.request.CategoryRequest;
 import com.example.newswebsite.domain.request.UserRoleUpdateRequest;
-import com.example.newswebsite.domain.response.ArticleDTO;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
 import com.example.newswebsite.service.ArticleService;
 import com.example.newswebsite.service.CategoryService;
 import com.example.newswebsite.service.JwtService;
@@ -196,13 +196,13 @@ public class AdminController {
         @PreAuthorize("hasRole('ADMIN')")
         @Operation(summary = "Lấy tất cả bài viết", description = "Trả về danh sách tất cả bài viết không phân biệt trạng thái, chỉ dành cho ADMIN")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Lấy danh sách thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleDTO.class))),
+                        @ApiResponse(responseCode = "200", description = "Lấy danh sách thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
                         @ApiResponse(responseCode = "401", description = "Không được phép - Token JWT không hợp lệ hoặc thiếu"),
                         @ApiResponse(responseCode = "403", description = "Bị từ chối - Không có vai trò ADMIN"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<ArticleDTO>> getArticles(Pageable pageable) {
-                Page<ArticleDTO> articles = articleService.findAllArticlesAsDTO(pageable);
+        public ResponseEntity<Page<ArticleSummaryDTO>> getArticles(Pageable pageable) {
+                Page<ArticleSummaryDTO> articles = articleService.findAllArticleSummaries(pageable);
                 return ResponseEntity.ok(articles);
         }
 
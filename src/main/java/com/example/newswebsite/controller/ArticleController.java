@@ -16,14 +16,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.ReadingHistory;
 import com.example.newswebsite.domain.request.ArticleRequest;
 import com.example.newswebsite.domain.request.ArticleUpdateRequest;
 import com.example.newswebsite.domain.response.ArticleDTO;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
 import com.example.newswebsite.domain.response.CategoryTreeDTO;
+import com.example.newswebsite.domain.response.CursorPage;
 import com.example.newswebsite.service.ArticleService;
+import com.example.newswebsite.service.CategoryTreeService;
+import com.example.newswebsite.service.ContentVersionService;
+import com.example.newswebsite.service.ContentVersionService.Scope;
+import com.example.newswebsite.service.FeedCacheService.Feed;
 import com.example.newswebsite.service.JwtService;
 import com.example.newswebsite.specification.ArticleSpecification;
 import com.example.newswebsite.util.ArticleStatus;
@@ -47,30 +54,38 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ArticleController {
         private final ArticleService articleService;
+        private final CategoryTreeService categoryTreeService;
+        private final ContentVersionService contentVersionService;
         private final JwtService jwtService;
 
         @GetMapping("/home")
         @Operation(summary = "Lấy danh sách bài viết cho trang chủ", description = "Trả về danh sách bài viết phân trang cho trang chủ")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleDTO.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
+                        @ApiResponse(responseCode = "304", description = "Feed không đổi so với ETag trong If-None-Match"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<ArticleDTO>> getArticlesForHome(Pageable pageable) {
-                Page<ArticleDTO> articles = articleService.getArticlesForHome(pageable);
-                return ResponseEntity.ok(articles);
+        public ResponseEntity<Page<ArticleSummaryDTO>> getArticlesForHome(Pageable pageable, WebRequest request) {
+                // Lấy phiên bản trước khi đọc dữ liệu: có thay đổi xen giữa thì lần sau client vẫn nhận bản mới
+                ContentVersionService.Version version = contentVersionService.current(Scope.FEEDS);
+                if (version.isNotModified(request)) {
+                        return version.notModified();
+                }
+                Page<ArticleSummaryDTO> articles = articleService.getArticlesForHome(pageable);
+                return version.ok(articles);
         }
 
         @GetMapping("/category/{categoryId}")
         @Operation(summary = "Lấy bài viết theo danh mục", description = "Trả về danh sách bài viết phân trang theo danh mục")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleDTO.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
                         @ApiResponse(responseCode = "404", description = "Không tìm thấy danh mục"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<ArticleDTO>> getArticlesByCategory(
+        public ResponseEntity<Page<ArticleSummaryDTO>> getArticlesByCategory(
                         @Parameter(description = "ID của danh mục") @PathVariable Integer categoryId,
                         Pageable pageable) {
-                Page<ArticleDTO> articles = articleService.getArticlesByCategory(categoryId, pageable);
+                Page<ArticleSummaryDTO> articles = articleService.getArticlesByCategory(categoryId, pageable);
                 return ResponseEntity.ok(articles);
         }
 
@@ -78,20 +93,25 @@ public class ArticleController {
         @Operation(summary = "Lấy cây danh mục", description = "Trả về danh sách danh mục dạng cây")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CategoryTreeDTO.class))),
+                        @ApiResponse(responseCode = "304", description = "Cây danh mục không đổi so với ETag trong If-None-Match"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree() {
-                List<CategoryTreeDTO> categories = articleService.getCategoryTree();
-                return ResponseEntity.ok(categories);
+        public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree(WebRequest request) {
+                CategoryTreeService.Snapshot snapshot = categoryTreeService.snapshot();
+                ContentVersionService.Version version = contentVersionService.categoryTree(snapshot);
+                if (version.isNotModified(request)) {
+                        return version.notModified();
+                }
+                return version.ok(snapshot.getTree());
         }
 
         @GetMapping
         @Operation(summary = "Tìm kiếm bài viết đã xuất bản", description = "Tìm kiếm bài viết đã xuất bản theo tiêu đề và danh mục, trả về kết quả phân trang")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Article.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<Article>> getArticles(
+        public ResponseEntity<Page<ArticleSummaryDTO>> getArticles(
                         @Parameter(description = "Tiêu đề bài viết (tùy chọn)") @RequestParam(required = false) String title,
                         @Parameter(description = "ID danh mục (tùy chọn)") @RequestParam(required = false) Integer categoryId,
                         Pageable pageable) {
@@ -212,17 +232,25 @@ public class ArticleController {
         @Operation(summary = "Lấy chi tiết bài viết", description = "Trả về thông tin chi tiết của bài viết theo ID")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleDTO.class))),
+                        @ApiResponse(responseCode = "304", description = "Bài viết không đổi so với ETag trong If-None-Match"),
                         @ApiResponse(responseCode = "404", description = "Không tìm thấy bài viết"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
         public ResponseEntity<ArticleDTO> getArticleById(
                         @Parameter(description = "ID của bài viết") @PathVariable Integer id,
-                        @Parameter(description = "Token JWT theo định dạng 'Bearer <token>' (tùy chọn)") @RequestHeader(value = "Authorization", required = false) String token) {
+                        @Parameter(description = "Token JWT theo định dạng 'Bearer <token>' (tùy chọn)") @RequestHeader(value = "Authorization", required = false) String token,
+                        WebRequest request) {
                 String googleId = token != null && token.startsWith("Bearer ")
                                 ? jwtService.getGoogleIdFromToken(token.replace("Bearer ", ""))
                                 : null;
+                ContentVersionService.Version version = contentVersionService.article(id);
+                if (version != null && version.isNotModified(request)) {
+                        articleService.recordNotModifiedView(id, googleId);
+                        return version.notModified();
+                }
                 ArticleDTO article = articleService.getArticleById(id, googleId);
-                return ResponseEntity.ok(article);
+                version = contentVersionService.article(id);
+                return version != null ? version.ok(article) : ResponseEntity.ok(article);
         }
 
         @GetMapping("/history")
@@ -245,14 +273,14 @@ public class ArticleController {
         @GetMapping("/author/{googleId}")
         @Operation(summary = "Lấy bài viết theo tác giả", description = "Trả về danh sách bài viết của tác giả theo Google ID")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleDTO.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
                         @ApiResponse(responseCode = "404", description = "Không tìm thấy tác giả"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<ArticleDTO>> getArticlesByAuthorGoogleId(
+        public ResponseEntity<Page<ArticleSummaryDTO>> getArticlesByAuthorGoogleId(
                         @Parameter(description = "Google ID của tác giả") @PathVariable String googleId,
                         Pageable pageable) {
-                Page<ArticleDTO> articles = articleService.getArticlesByAuthorGoogleId(googleId, pageable);
+                Page<ArticleSummaryDTO> articles = articleService.getArticlesByAuthorGoogleId(googleId, pageable);
                 return ResponseEntity.ok(articles);
         }
 
@@ -279,12 +307,12 @@ public class ArticleController {
         @Operation(summary = "Tìm kiếm bài viết theo trạng thái (Admin)", description = "Tìm kiếm bài viết theo tiêu đề, danh mục, và trạng thái, chỉ dành cho ADMIN và EDITOR")
         @SecurityRequirement(name = "bearerAuth")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Article.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleSummaryDTO.class))),
                         @ApiResponse(responseCode = "401", description = "Không được phép - Token JWT không hợp lệ hoặc thiếu"),
                         @ApiResponse(responseCode = "403", description = "Bị từ chối - Không có vai trò ADMIN hoặc EDITOR"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<Page<Article>> searchArticlesByStatus(
+        public ResponseEntity<Page<ArticleSummaryDTO>> searchArticlesByStatus(
                         @Parameter(description = "Tiêu đề bài viết (tùy chọn)") @RequestParam(required = false) String title,
                         @Parameter(description = "ID danh mục (tùy chọn)") @RequestParam(required = false) Integer categoryId,
                         @Parameter(description = "Trạng thái bài viết (tùy chọn, mặc định là PUBLISHED)") @RequestParam(required = false, defaultValue = "PUBLISHED") String status,
@@ -309,16 +337,60 @@ public class ArticleController {
         }
 
         @GetMapping("/latest")
-        public ResponseEntity<Page<Article>> getLatestArticles(Pageable pageable) {
+        public ResponseEntity<Page<ArticleSummaryDTO>> getLatestArticles(Pageable pageable) {
                 log.info("Getting latest articles");
-                Page<Article> articles = articleService.getLatestArticles(pageable);
+                Page<ArticleSummaryDTO> articles = articleService.getLatestArticles(pageable);
                 return ResponseEntity.ok(articles);
         }
 
         @GetMapping("/hot")
-        public ResponseEntity<Page<Article>> getHotArticles(Pageable pageable) {
+        public ResponseEntity<Page<ArticleSummaryDTO>> getHotArticles(Pageable pageable) {
                 log.info("Getting hot articles");
-                Page<Article> articles = articleService.getHotArticles(pageable);
+                Page<ArticleSummaryDTO> articles = articleService.getHotArticles(pageable);
                 return ResponseEntity.ok(articles);
         }
-}
\ No newline at end of file
+
+        @GetMapping("/feed/home")
+        @Operation(summary = "Feed trang chủ theo cursor", description = "Phân trang keyset cho trang chủ, dùng nextCursor của trang trước để lấy trang tiếp theo")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor không hợp lệ"),
+                        @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
+        })
+        public ResponseEntity<CursorPage<ArticleSummaryDTO>> getHomeFeed(
+                        @Parameter(description = "Cursor của trang trước (bỏ trống để lấy trang đầu)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Số bài viết mỗi trang") @RequestParam(defaultValue = "20") int size,
+                        @Parameter(description = "Có đếm tổng số bài viết hay không") @RequestParam(defaultValue = "false") boolean withTotal) {
+                return ResponseEntity.ok(articleService.getFeedByCursor(Feed.HOME, null, cursor, size, withTotal));
+        }
+
+        @GetMapping("/feed/latest")
+        @Operation(summary = "Feed bài viết mới cập nhật theo cursor", description = "Phân trang keyset theo thời gian cập nhật")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor không hợp lệ"),
+                        @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
+        })
+        public ResponseEntity<CursorPage<ArticleSummaryDTO>> getLatestFeed(
+                        @Parameter(description = "Cursor của trang trước (bỏ trống để lấy trang đầu)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Số bài viết mỗi trang") @RequestParam(defaultValue = "20") int size,
+                        @Parameter(description = "Có đếm tổng số bài viết hay không") @RequestParam(defaultValue = "false") boolean withTotal) {
+                return ResponseEntity.ok(articleService.getFeedByCursor(Feed.LATEST, null, cursor, size, withTotal));
+        }
+
+        @GetMapping("/feed/category/{categoryId}")
+        @Operation(summary = "Feed theo danh mục theo cursor", description = "Phân trang keyset cho bài viết của một danh mục")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPage.class))),
+                        @ApiResponse(responseCode = "400", description = "Cursor không hợp lệ"),
+                        @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
+        })
+        public ResponseEntity<CursorPage<ArticleSummaryDTO>> getCategoryFeed(
+                        @Parameter(description = "ID của danh mục") @PathVariable Integer categoryId,
+                        @Parameter(description = "Cursor của trang trước (bỏ trống để lấy trang đầu)") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Số bài viết mỗi trang") @RequestParam(defaultValue = "20") int size,
+                        @Parameter(description = "Có đếm tổng số bài viết hay không") @RequestParam(defaultValue = "false") boolean withTotal) {
+                return ResponseEntity.ok(
+                                articleService.getFeedByCursor(Feed.CATEGORY, categoryId, cursor, size, withTotal));
+        }
+}
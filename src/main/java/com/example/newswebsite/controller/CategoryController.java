@@ -12,11 +12,14 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.newswebsite.domain.Category;
 import com.example.newswebsite.domain.request.CategoryRequest;
 import com.example.newswebsite.domain.response.CategoryTreeDTO;
 import com.example.newswebsite.service.CategoryService;
+import com.example.newswebsite.service.CategoryTreeService;
+import com.example.newswebsite.service.ContentVersionService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +41,8 @@ import lombok.extern.slf4j.Slf4j;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryTreeService categoryTreeService;
+    private final ContentVersionService contentVersionService;
 
     @GetMapping("/parent")
     @Operation(summary = "Lấy danh sách danh mục cha", description = "Trả về danh sách các danh mục không có danh mục cha")
@@ -68,12 +73,16 @@ public class CategoryController {
     @Operation(summary = "Lấy cấu trúc cây danh mục", description = "Trả về cấu trúc cây đầy đủ của tất cả danh mục (2 cấp: cha và con)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CategoryTreeDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Cây danh mục không đổi so với ETag trong If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
     })
-    public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree() {
-        log.info("Getting category tree");
-        List<CategoryTreeDTO> categoryTree = categoryService.getCategoryTree();
-        return ResponseEntity.ok(categoryTree);
+    public ResponseEntity<List<CategoryTreeDTO>> getCategoryTree(WebRequest request) {
+        CategoryTreeService.Snapshot snapshot = categoryTreeService.snapshot();
+        ContentVersionService.Version version = contentVersionService.categoryTree(snapshot);
+        if (version.isNotModified(request)) {
+            return version.notModified();
+        }
+        return version.ok(snapshot.getTwoLevelTree());
     }
 
     @PostMapping("/parent")
@@ -1,7 +1,7 @@
 package com.example.newswebsite.controller;
 
-import java.util.List;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.newswebsite.domain.Comment;
 import com.example.newswebsite.domain.request.CommentRequest;
+import com.example.newswebsite.domain.response.CommentThreadDTO;
 import com.example.newswebsite.service.CommentService;
 import com.example.newswebsite.service.JwtService;
 
@@ -61,15 +62,18 @@ public class CommentController {
         }
 
         @GetMapping("/article/{articleId}")
-        @Operation(summary = "Lấy danh sách bình luận theo bài viết", description = "Trả về danh sách bình luận của bài viết theo ID")
+        @Operation(summary = "Lấy danh sách bình luận theo bài viết", description = "Trả về các luồng bình luận của bài viết theo ID, phân trang theo bình luận gốc")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Comment.class))),
+                        @ApiResponse(responseCode = "200", description = "Thành công", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentThreadDTO.class))),
                         @ApiResponse(responseCode = "404", description = "Không tìm thấy bài viết"),
                         @ApiResponse(responseCode = "500", description = "Lỗi máy chủ nội bộ")
         })
-        public ResponseEntity<List<Comment>> getCommentsByArticle(
-                        @Parameter(description = "ID của bài viết") @PathVariable Integer articleId) {
-                List<Comment> comments = commentService.getCommentsByArticle(articleId);
+        public ResponseEntity<Page<CommentThreadDTO>> getCommentsByArticle(
+                        @Parameter(description = "ID của bài viết") @PathVariable Integer articleId,
+                        @Parameter(description = "Số cấp trả lời tối đa") @RequestParam(defaultValue = "5") int depth,
+                        @Parameter(description = "Số trả lời tối đa mỗi bình luận") @RequestParam(defaultValue = "50") int replies,
+                        Pageable pageable) {
+                Page<CommentThreadDTO> comments = commentService.getCommentThreads(articleId, pageable, depth, replies);
                 return ResponseEntity.ok(comments);
         }
 
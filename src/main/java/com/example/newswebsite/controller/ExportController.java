@@ -0,0 +1,66 @@
+package com.example.newswebsite.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.newswebsite.service.ExportService;
+import com.example.newswebsite.service.ExportService.Format;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@RequiredArgsConstructor
+@Tag(name = "API Export", description = "API export dữ liệu dạng NDJSON hoặc CSV, chỉ dành cho ADMIN")
+@Slf4j
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/articles")
+    @Operation(summary = "Export bài viết", description = "Ghi dần toàn bộ bài viết ra response, không giới hạn số dòng")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @Parameter(description = "ndjson hoặc csv") @RequestParam(defaultValue = "ndjson") String format) {
+        Format type = Format.of(format);
+        return stream("articles", type, out -> exportService.exportArticles(out, type));
+    }
+
+    @GetMapping("/comments")
+    @Operation(summary = "Export bình luận", description = "Ghi dần toàn bộ bình luận ra response, không giới hạn số dòng")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @Parameter(description = "ndjson hoặc csv") @RequestParam(defaultValue = "ndjson") String format) {
+        Format type = Format.of(format);
+        return stream("comments", type, out -> exportService.exportComments(out, type));
+    }
+
+    @GetMapping("/reading-history")
+    @Operation(summary = "Export lịch sử đọc", description = "Ghi dần toàn bộ lịch sử đọc ra response, không giới hạn số dòng")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<StreamingResponseBody> exportReadingHistory(
+            @Parameter(description = "ndjson hoặc csv") @RequestParam(defaultValue = "ndjson") String format) {
+        Format type = Format.of(format);
+        return stream("reading-history", type, out -> exportService.exportReadingHistory(out, type));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, Format format, StreamingResponseBody body) {
+        log.info("Exporting {} as {}", name, format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -2,6 +2,8 @@ package com.example.newswebsite.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -63,8 +65,8 @@ public class FavoriteController {
     @PreAuthorize("hasRole('USER') or hasRole('EDITOR') or hasRole('ADMIN')")
     @Operation(summary = "Lấy danh sách theo google id", description = "Trả về danh sách yêu thích theo google id", security = {
             @SecurityRequirement(name = "bearerAuth") })
-    public ResponseEntity<List<FavoriteSummaryDTO>> getUserFavorites(@PathVariable String googleId) {
-        List<FavoriteSummaryDTO> favorites = favoriteService.getUserFavoritesByGoogleId(googleId);
+    public ResponseEntity<Page<FavoriteSummaryDTO>> getUserFavorites(@PathVariable String googleId, Pageable pageable) {
+        Page<FavoriteSummaryDTO> favorites = favoriteService.getUserFavoritesByGoogleId(googleId, pageable);
         return ResponseEntity.ok(favorites);
     }
 
@@ -2,6 +2,8 @@ package com.example.newswebsite.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -51,8 +53,8 @@ public class ReadingHistoryController {
     @PreAuthorize("hasRole('USER') or hasRole('EDITOR') or hasRole('ADMIN')")
     @Operation(summary = "Lấy lịch sử đọc và lượt xem bài báo đó", description = "Lấy về lịch sử xem và dùng group by để trả ra lượt xem của bài báo đó", security = {
             @SecurityRequirement(name = "bearerAuth") })
-    public ResponseEntity<List<ReadingHistorySummaryDTO>> getUserReadingHistorySummary(@PathVariable String googleId) {
-        List<ReadingHistorySummaryDTO> histories = readingHistoryService.getUserReadingHistoryByGoogleId(googleId);
+    public ResponseEntity<Page<ReadingHistorySummaryDTO>> getUserReadingHistorySummary(@PathVariable String googleId, Pageable pageable) {
+        Page<ReadingHistorySummaryDTO> histories = readingHistoryService.getUserReadingHistoryByGoogleId(googleId, pageable);
         return ResponseEntity.ok(histories);
     }
 
@@ -1,5 +1,7 @@
 package com.example.newswebsite.controller;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -8,8 +10,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.newswebsite.domain.response.AutocompleteSuggestionDTO;
 import com.example.newswebsite.domain.response.SearchResultDTO;
+import com.example.newswebsite.service.AutocompleteService;
 import com.example.newswebsite.service.SearchService;
+import com.example.newswebsite.service.SearchService.SearchMode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,14 +29,16 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "API Tìm kiếm", description = "API tìm kiếm bài viết")
 public class SearchController {
     private final SearchService searchService;
+    private final AutocompleteService autocompleteService;
 
     @GetMapping
     @Operation(summary = "Tìm kiếm bài viết", description = "Tìm kiếm bài viết theo từ khóa")
     public ResponseEntity<Page<SearchResultDTO>> searchArticles(
             @Parameter(description = "Từ khóa tìm kiếm") @RequestParam String keyword,
+            @Parameter(description = "Cách tìm kiếm: FULLTEXT, LIKE hoặc INDEX (tùy chọn)") @RequestParam(required = false) SearchMode mode,
             Pageable pageable) {
         log.info("Search request received with keyword: {}", keyword);
-        return ResponseEntity.ok(searchService.searchArticles(keyword, pageable));
+        return ResponseEntity.ok(searchService.searchArticles(keyword, mode, pageable));
     }
 
     @GetMapping("/category")
@@ -39,8 +46,17 @@ public class SearchController {
     public ResponseEntity<Page<SearchResultDTO>> searchArticlesByCategory(
             @Parameter(description = "Từ khóa tìm kiếm") @RequestParam String keyword,
             @Parameter(description = "ID danh mục") @RequestParam Integer categoryId,
+            @Parameter(description = "Cách tìm kiếm: FULLTEXT, LIKE hoặc INDEX (tùy chọn)") @RequestParam(required = false) SearchMode mode,
             Pageable pageable) {
         log.info("Search request received with keyword: {} in category: {}", keyword, categoryId);
-        return ResponseEntity.ok(searchService.searchArticlesByCategory(keyword, categoryId, pageable));
+        return ResponseEntity.ok(searchService.searchArticlesByCategory(keyword, categoryId, mode, pageable));
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Gợi ý tìm kiếm", description = "Trả về các tiêu đề bài viết và tên tag bắt đầu bằng tiền tố, sắp xếp theo lượt xem")
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> autocomplete(
+            @Parameter(description = "Tiền tố cần gợi ý") @RequestParam String prefix,
+            @Parameter(description = "Số gợi ý tối đa (mặc định 10)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(prefix, limit));
     }
 }
\ No newline at end of file
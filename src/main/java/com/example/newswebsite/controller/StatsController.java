@@ -1,11 +1,22 @@
 package com.example.newswebsite.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.newswebsite.domain.response.WebsiteStatsDTO;
+import com.example.newswebsite.domain.response.WebsiteStatsDTO.ActiveAuthor;
+import com.example.newswebsite.domain.response.WebsiteStatsDTO.PopularArticle;
+import com.example.newswebsite.service.ContentVersionService;
+import com.example.newswebsite.service.ContentVersionService.Scope;
+import com.example.newswebsite.service.RankingService;
 import com.example.newswebsite.service.StatsService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,11 +29,43 @@ import lombok.extern.slf4j.Slf4j;
 public class StatsController {
 
     private final StatsService statsService;
+    private final RankingService rankingService;
+    private final ContentVersionService contentVersionService;
 
     @GetMapping
-    public ResponseEntity<WebsiteStatsDTO> getWebsiteStats() {
+    public ResponseEntity<WebsiteStatsDTO> getWebsiteStats(WebRequest request) {
+        ContentVersionService.Version version = contentVersionService.current(Scope.STATS);
+        if (version.isNotModified(request)) {
+            return version.notModified();
+        }
         log.info("Getting website statistics");
         WebsiteStatsDTO stats = statsService.getWebsiteStats();
-        return ResponseEntity.ok(stats);
+        return version.ok(stats);
+    }
+
+    @GetMapping("/popular-articles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PopularArticle>> getPopularArticles(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Integer days) {
+        log.info("Getting top {} popular articles for the last {} days", limit, days);
+        return ResponseEntity.ok(rankingService.getPopularArticles(limit, days));
+    }
+
+    @GetMapping("/active-authors")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ActiveAuthor>> getActiveAuthors(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Integer days) {
+        log.info("Getting top {} active authors for the last {} days", limit, days);
+        return ResponseEntity.ok(rankingService.getActiveAuthors(limit, days));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildCounters() {
+        log.info("Rebuilding statistics counters");
+        statsService.rebuildCounters();
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -10,8 +10,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.newswebsite.domain.Tag;
+import com.example.newswebsite.service.ContentVersionService;
+import com.example.newswebsite.service.ContentVersionService.Scope;
 import com.example.newswebsite.service.TagService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,12 +29,17 @@ import lombok.extern.slf4j.Slf4j;
 @io.swagger.v3.oas.annotations.tags.Tag(name = "API Quản lý Tag", description = "API quản lý tag")
 public class TagController {
     private final TagService tagService;
+    private final ContentVersionService contentVersionService;
 
     @GetMapping
     @Operation(summary = "Lấy danh sách tag", description = "Lấy tất cả các tag")
-    public ResponseEntity<List<Tag>> getAllTags() {
+    public ResponseEntity<List<Tag>> getAllTags(WebRequest request) {
+        ContentVersionService.Version version = contentVersionService.current(Scope.TAGS);
+        if (version.isNotModified(request)) {
+            return version.notModified();
+        }
         log.info("Getting all tags");
-        return ResponseEntity.ok(tagService.getAllTags());
+        return version.ok(tagService.getAllTags());
     }
 
     @PostMapping
@@ -88,6 +88,10 @@ public class Article {
     @Column(name = "thumbnail_url")
     private String thumbnailUrl;
 
+    // Tổng lượt xem, được ViewCounterService cộng dồn định kỳ
+    @Column(name = "view_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long viewCount;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
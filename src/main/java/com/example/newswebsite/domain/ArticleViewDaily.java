@@ -0,0 +1,26 @@
+package com.example.newswebsite.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tổng lượt xem của một bài viết trong một ngày (mọi người đọc, kể cả khách),
+ * được ViewCounterService cộng dồn
+ */
+@Entity
+@Table(name = "ArticleViewDaily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleViewDaily {
+    @EmbeddedId
+    private ArticleViewDailyId id;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
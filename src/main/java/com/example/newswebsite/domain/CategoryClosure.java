@@ -0,0 +1,26 @@
+package com.example.newswebsite.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một cặp (tổ tiên, con cháu) trong cây danh mục, depth là số cấp giữa hai
+ * danh mục (0 khi là chính nó)
+ */
+@Entity
+@Table(name = "CategoryClosure")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosure {
+    @EmbeddedId
+    private CategoryClosureId id;
+
+    @Column(nullable = false)
+    private int depth;
+}
@@ -0,0 +1,21 @@
+package com.example.newswebsite.domain;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryClosureId implements Serializable {
+    @Column(name = "ancestor_id", nullable = false)
+    private Integer ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Integer descendantId;
+}
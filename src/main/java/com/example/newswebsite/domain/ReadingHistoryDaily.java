@@ -0,0 +1,31 @@
+package com.example.newswebsite.domain;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lượt xem đã được gom theo (người dùng, bài viết, ngày) từ các dòng
+ * reading_history cũ
+ */
+@Entity
+@Table(name = "ReadingHistoryDaily")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingHistoryDaily {
+    @EmbeddedId
+    private ReadingHistoryDailyId id;
+
+    @Column(name = "view_count", nullable = false)
+    private int viewCount;
+
+    @Column(name = "last_viewed_at", nullable = false)
+    private LocalDateTime lastViewedAt;
+}
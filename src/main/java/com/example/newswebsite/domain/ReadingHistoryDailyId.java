@@ -0,0 +1,25 @@
+package com.example.newswebsite.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingHistoryDailyId implements Serializable {
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(name = "article_id", nullable = false)
+    private Integer articleId;
+
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+}
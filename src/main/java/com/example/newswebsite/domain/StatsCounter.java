@@ -0,0 +1,26 @@
+package com.example.newswebsite.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bộ đếm thống kê được cộng dồn mỗi khi có thay đổi (bài viết, bình luận, lượt
+ * xem, yêu thích, người dùng)
+ */
+@Entity
+@Table(name = "StatsCounters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsCounter {
+    @EmbeddedId
+    private StatsCounterId id;
+
+    @Column(name = "counter_value", nullable = false)
+    private long counterValue;
+}
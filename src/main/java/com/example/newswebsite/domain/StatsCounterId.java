@@ -0,0 +1,26 @@
+package com.example.newswebsite.domain;
+
+import java.io.Serializable;
+
+import com.example.newswebsite.util.StatsMetric;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsCounterId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32, nullable = false)
+    private StatsMetric metric;
+
+    @Column(length = 64, nullable = false)
+    private String bucket;
+}
@@ -0,0 +1,29 @@
+package com.example.newswebsite.domain.request;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.newswebsite.util.ArticleStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một bài viết trong luồng import (một dòng NDJSON hoặc một phần tử mảng JSON)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportRequest {
+    private String title;
+    private String summary;
+    private String content;
+    private Integer categoryId;
+    private List<String> tagNames;
+    private String thumbnailUrl;
+    // Mặc định PENDING
+    private ArticleStatus status;
+    // Giữ ngày đăng gốc từ hệ thống cũ, mặc định là thời điểm import
+    private LocalDateTime createdAt;
+}
@@ -7,12 +7,14 @@ import java.util.Set;
 import com.example.newswebsite.util.ArticleStatus;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Builder(toBuilder = true)
 public class ArticleDTO {
     private Integer articleId;
     private String title;
@@ -24,10 +26,13 @@ public class ArticleDTO {
     private String authorEmail;
     private String authorAvatar;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
     private ArticleStatus status;
     private CategoryDTO category;
+    @Builder.Default
     private Set<TagDTO> tags = Collections.emptySet(); // Mặc định là set rỗng
     private String thumbnailUrl;
+    private long viewCount;
 
     @Data
     @NoArgsConstructor
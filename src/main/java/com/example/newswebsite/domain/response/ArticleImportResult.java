@@ -0,0 +1,30 @@
+package com.example.newswebsite.domain.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ArticleImportResult {
+    private long received;
+    private long imported;
+    private long failed;
+    // Chỉ giữ tối đa import.articles.max-errors lỗi đầu tiên
+    private List<RecordError> errors = new ArrayList<>();
+    private boolean aborted;
+    private long elapsedMs;
+    private double rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+        // Thứ tự bản ghi trong luồng, bắt đầu từ 0
+        private long index;
+        private String message;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.newswebsite.domain.response;
+
+import java.time.LocalDateTime;
+
+import com.example.newswebsite.util.ArticleStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO tóm tắt bài viết cho các danh sách, không chứa nội dung bài viết. Được
+ * tạo trực tiếp từ truy vấn (constructor expression), thứ tự tham số của
+ * constructor phải khớp với các truy vấn trong ArticleRepository.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummaryDTO {
+    private Integer articleId;
+    private String title;
+    private String summary;
+    private String thumbnailUrl;
+    private String authorName;
+    private Integer categoryId;
+    private String categoryName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private ArticleStatus status;
+}
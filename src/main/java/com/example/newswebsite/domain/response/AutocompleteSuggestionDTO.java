@@ -0,0 +1,16 @@
+package com.example.newswebsite.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestionDTO {
+    // ARTICLE hoặc TAG
+    private String type;
+    private Integer id;
+    private String text;
+    private long score;
+}
@@ -0,0 +1,27 @@
+package com.example.newswebsite.domain.response;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một bình luận cùng các trả lời của nó. replyCount là tổng số trả lời trực
+ * tiếp, có thể lớn hơn replies.size() khi danh sách bị giới hạn theo độ sâu
+ * hoặc số trả lời mỗi bình luận.
+ */
+@Data
+@NoArgsConstructor
+public class CommentThreadDTO {
+    private Integer commentId;
+    private Integer parentId;
+    private String content;
+    private LocalDateTime createdAt;
+    private String authorName;
+    private String authorGoogleId;
+    private String authorAvatar;
+    private int replyCount;
+    private List<CommentThreadDTO> replies = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.example.newswebsite.domain.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Một trang của phân trang keyset. nextCursor là null khi không còn trang sau,
+ * total là null khi client không yêu cầu đếm tổng số bài viết.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long total;
+}
@@ -1,7 +1,9 @@
 package com.example.newswebsite.repository;
 
+import java.util.Collection;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,18 +12,92 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.Category;
 import com.example.newswebsite.domain.User;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
 import com.example.newswebsite.util.ArticleStatus;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Integer>, JpaSpecificationExecutor<Article> {
+public interface ArticleRepository
+                extends JpaRepository<Article, Integer>, JpaSpecificationExecutor<Article>, ArticleSummaryRepository {
+        // Chỉ lấy các cột của ArticleSummaryDTO, không đọc cột content
+        String SUMMARY_SELECT = "SELECT new com.example.newswebsite.domain.response.ArticleSummaryDTO(" +
+                        "a.articleId, a.title, a.summary, a.thumbnailUrl, au.name, c.categoryId, c.name, " +
+                        "a.createdAt, a.updatedAt, a.status) " +
+                        "FROM Article a LEFT JOIN a.author au LEFT JOIN a.category c ";
+
+        // Danh mục :categoryId và toàn bộ danh mục con cháu, theo bảng category_closure.
+        // Với danh mục cha, MySQL đọc bài viết của nhiều category_id nên không dùng được
+        // thứ tự của idx_articles_category_status_created và phải filesort toàn bộ cây
+        // con: chỉ dùng cho COUNT và phân trang OFFSET (đã cache trang đầu); feed
+        // cursor dùng findSummariesByCategoriesSeek (UNION ALL theo từng danh mục)
+        String IN_CATEGORY_SUBTREE = "a.category.categoryId IN (SELECT cc.id.descendantId FROM CategoryClosure cc "
+                        + "WHERE cc.id.ancestorId = :categoryId) ";
+
         Page<Article> findAll(Specification<Article> spec, Pageable pageable);
 
+        @Query(value = SUMMARY_SELECT + "WHERE a.status = :status", countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+        Page<ArticleSummaryDTO> findSummariesByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+
+        @Query(value = SUMMARY_SELECT + "WHERE a.status = :status AND " + IN_CATEGORY_SUBTREE, countQuery = "SELECT COUNT(a) FROM Article a "
+                        + "WHERE a.status = :status AND " + IN_CATEGORY_SUBTREE)
+        Page<ArticleSummaryDTO> findSummariesByCategory(
+                        @Param("categoryId") Integer categoryId,
+                        @Param("status") ArticleStatus status,
+                        Pageable pageable);
+
+        @Query(value = SUMMARY_SELECT + "WHERE a.status = :status ORDER BY a.updatedAt DESC", countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+        Page<ArticleSummaryDTO> findLatestSummaries(@Param("status") ArticleStatus status, Pageable pageable);
+
+        @Query(value = SUMMARY_SELECT + "WHERE a.status = :status AND au.googleId = :googleId", countQuery = "SELECT COUNT(a) FROM Article a "
+                        + "WHERE a.status = :status AND a.author.googleId = :googleId")
+        Page<ArticleSummaryDTO> findSummariesByAuthor(
+                        @Param("googleId") String googleId,
+                        @Param("status") ArticleStatus status,
+                        Pageable pageable);
+
+        // Phân trang keyset: lấy pageable.getPageSize() bài tiếp theo sau
+        // (createdAt/updatedAt, articleId) của cursor, không có truy vấn COUNT. Bài
+        // viết có cột sắp xếp NULL không có vị trí cursor nên không nằm trong feed
+        // (trang sau cũng loại chúng qua phép so sánh <)
+        @Query(SUMMARY_SELECT + "WHERE a.status = :status AND a.createdAt IS NOT NULL "
+                        + "ORDER BY a.createdAt DESC, a.articleId DESC")
+        List<ArticleSummaryDTO> findSummariesByStatusSeek(@Param("status") ArticleStatus status, Pageable pageable);
+
+        @Query(SUMMARY_SELECT + "WHERE a.status = :status AND (a.createdAt < :createdAt "
+                        + "OR (a.createdAt = :createdAt AND a.articleId < :articleId)) "
+                        + "ORDER BY a.createdAt DESC, a.articleId DESC")
+        List<ArticleSummaryDTO> findSummariesByStatusAfter(
+                        @Param("status") ArticleStatus status,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("articleId") Integer articleId,
+                        Pageable pageable);
+
+        @Query(SUMMARY_SELECT + "WHERE a.status = :status AND a.updatedAt IS NOT NULL "
+                        + "ORDER BY a.updatedAt DESC, a.articleId DESC")
+        List<ArticleSummaryDTO> findLatestSummariesSeek(@Param("status") ArticleStatus status, Pageable pageable);
+
+        @Query(SUMMARY_SELECT + "WHERE a.status = :status AND (a.updatedAt < :updatedAt "
+                        + "OR (a.updatedAt = :updatedAt AND a.articleId < :articleId)) "
+                        + "ORDER BY a.updatedAt DESC, a.articleId DESC")
+        List<ArticleSummaryDTO> findLatestSummariesAfter(
+                        @Param("status") ArticleStatus status,
+                        @Param("updatedAt") LocalDateTime updatedAt,
+                        @Param("articleId") Integer articleId,
+                        Pageable pageable);
+
+        @Query(SUMMARY_SELECT + "WHERE a.articleId IN :articleIds")
+        List<ArticleSummaryDTO> findSummariesByIds(@Param("articleIds") Collection<Integer> articleIds);
+
         @EntityGraph(attributePaths = { "author", "category", "tags" })
         Page<Article> findByStatus(ArticleStatus status, Pageable pageable);
 
@@ -31,6 +107,9 @@ public interface ArticleRepository extends JpaRepository<Article, Integer>, JpaS
         @EntityGraph(attributePaths = { "author", "category", "tags" })
         Page<Article> findByAuthorGoogleId(String googleId, Pageable pageable);
 
+        @EntityGraph(attributePaths = { "author", "category", "tags" })
+        List<Article> findByArticleIdIn(Collection<Integer> articleIds);
+
         Page<Article> findByCategoryAndStatus(Category category, ArticleStatus status, Pageable pageable);
 
         Page<Article> findByAuthorAndStatus(User author, ArticleStatus status, Pageable pageable);
@@ -58,18 +137,75 @@ public interface ArticleRepository extends JpaRepository<Article, Integer>, JpaS
         @Query("SELECT COUNT(a) FROM Article a WHERE a.status = :status")
         long countByStatus(@Param("status") ArticleStatus status);
 
-        @Query("SELECT a FROM Article a WHERE a.status = :status ORDER BY a.updatedAt DESC")
-        Page<Article> findLatestArticles(@Param("status") ArticleStatus status, Pageable pageable);
+        @Query("SELECT COUNT(a) FROM Article a WHERE " + IN_CATEGORY_SUBTREE + "AND a.status = :status")
+        long countByCategoryAndStatus(@Param("categoryId") Integer categoryId, @Param("status") ArticleStatus status);
 
-        @Query("SELECT a FROM Article a " +
-                        "WHERE a.status = :status " +
-                        "AND EXISTS (SELECT 1 FROM Comment c WHERE c.article = a AND c.createdAt >= :startDate) " +
-                        "ORDER BY (SELECT COUNT(c2) FROM Comment c2 WHERE c2.article = a AND c2.createdAt >= :startDate) DESC")
-        Page<Article> findHotArticles(
+        @Query("SELECT a.status, COUNT(a) FROM Article a GROUP BY a.status")
+        List<Object[]> countGroupByStatus();
+
+        @Query("SELECT c.categoryId, COUNT(a) FROM Article a LEFT JOIN a.category c GROUP BY c.categoryId")
+        List<Object[]> countGroupByCategory();
+
+        /**
+         * Lấy các bài viết có tổng lượt xem (cột view_count) cao nhất
+         *
+         * @return Danh sách mảng Object: [articleId, lượt xem], sắp xếp giảm dần
+         */
+        @Query("SELECT a.articleId, a.viewCount FROM Article a ORDER BY a.viewCount DESC")
+        List<Object[]> findTopByViewCount(Pageable pageable);
+
+        /**
+         * Lấy các tác giả có tổng lượt xem (cột view_count) cao nhất
+         *
+         * @return Danh sách mảng Object: [userId của tác giả, tổng lượt xem], sắp
+         *         xếp giảm dần
+         */
+        @Query("SELECT a.author.userId, SUM(a.viewCount) FROM Article a " +
+                        "WHERE a.author IS NOT NULL " +
+                        "GROUP BY a.author.userId " +
+                        "ORDER BY SUM(a.viewCount) DESC")
+        List<Object[]> findTopAuthorsByViewCount(Pageable pageable);
+
+        /**
+         * Lấy tiêu đề và lượt xem của bài viết, phân trang theo articleId
+         *
+         * @return Danh sách mảng Object: [articleId, title, viewCount]
+         */
+        @Query("SELECT a.articleId, a.title, a.viewCount FROM Article a " +
+                        "WHERE a.status = :status AND a.articleId > :afterId " +
+                        "ORDER BY a.articleId")
+        List<Object[]> findTitlesWithViewCounts(
+                        @Param("status") ArticleStatus status,
+                        @Param("afterId") Integer afterId,
+                        Pageable pageable);
+
+        /**
+         * Lấy nội dung bài viết để đánh chỉ mục tìm kiếm, phân trang theo articleId
+         *
+         * @return Danh sách mảng Object: [articleId, title, summary, content,
+         *         categoryId]
+         */
+        @Query("SELECT a.articleId, a.title, a.summary, a.content, c.categoryId FROM Article a " +
+                        "LEFT JOIN a.category c " +
+                        "WHERE a.status = :status AND a.articleId > :afterId " +
+                        "ORDER BY a.articleId")
+        List<Object[]> findSearchDocuments(
                         @Param("status") ArticleStatus status,
-                        @Param("startDate") LocalDateTime startDate,
+                        @Param("afterId") Integer afterId,
                         Pageable pageable);
 
+        @Query("SELECT a.articleId, a.title FROM Article a WHERE a.articleId IN :articleIds")
+        List<Object[]> findTitlesByIds(@Param("articleIds") Collection<Integer> articleIds);
+
+        @Query("SELECT a.author.userId, COUNT(a) FROM Article a " +
+                        "WHERE a.author.userId IN :authorIds " +
+                        "GROUP BY a.author.userId")
+        List<Object[]> countGroupByAuthorIds(@Param("authorIds") Collection<Integer> authorIds);
+
+        @Query("SELECT a FROM Article a WHERE a.status = :status ORDER BY a.updatedAt DESC")
+        Page<Article> findLatestArticles(@Param("status") ArticleStatus status, Pageable pageable);
+
+
         @Query("SELECT a FROM Article a " +
                         "WHERE a.status = :status " +
                         "AND (LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
@@ -81,6 +217,37 @@ public interface ArticleRepository extends JpaRepository<Article, Integer>, JpaS
                         @Param("status") ArticleStatus status,
                         Pageable pageable);
 
+        /**
+         * Tìm kiếm toàn văn bằng chỉ mục FULLTEXT ft_search (boolean mode), sắp xếp
+         * theo độ liên quan
+         *
+         * @return Trang mảng Object: [articleId, điểm liên quan]
+         */
+        @Query(value = "SELECT a.article_id, MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE) AS score "
+                        + "FROM articles a "
+                        + "WHERE a.status = :status "
+                        + "AND MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE) "
+                        + "ORDER BY score DESC, a.created_at DESC", countQuery = "SELECT COUNT(*) FROM articles a "
+                                        + "WHERE a.status = :status "
+                                        + "AND MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE)", nativeQuery = true)
+        Page<Object[]> searchFullText(
+                        @Param("query") String query,
+                        @Param("status") String status,
+                        Pageable pageable);
+
+        @Query(value = "SELECT a.article_id, MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE) AS score "
+                        + "FROM articles a "
+                        + "WHERE a.status = :status AND a.category_id = :categoryId "
+                        + "AND MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE) "
+                        + "ORDER BY score DESC, a.created_at DESC", countQuery = "SELECT COUNT(*) FROM articles a "
+                                        + "WHERE a.status = :status AND a.category_id = :categoryId "
+                                        + "AND MATCH(a.title, a.summary, a.content) AGAINST (:query IN BOOLEAN MODE)", nativeQuery = true)
+        Page<Object[]> searchFullTextByCategory(
+                        @Param("query") String query,
+                        @Param("status") String status,
+                        @Param("categoryId") Integer categoryId,
+                        Pageable pageable);
+
         @Query("SELECT a FROM Article a " +
                         "WHERE a.status = :status " +
                         "AND a.category.categoryId = :categoryId " +
@@ -93,4 +260,21 @@ public interface ArticleRepository extends JpaRepository<Article, Integer>, JpaS
                         @Param("status") ArticleStatus status,
                         @Param("categoryId") Integer categoryId,
                         Pageable pageable);
+
+        /**
+         * Đọc toàn bộ bài viết để export, theo thứ tự id. Fetch size
+         * Integer.MIN_VALUE bật chế độ streaming từng dòng của MySQL Connector/J;
+         * phải được đọc trong transaction và đóng Stream sau khi dùng.
+         *
+         * @return Stream mảng Object: [articleId, title, summary, content, status,
+         *         categoryId, categoryName, authorName, thumbnailUrl, viewCount,
+         *         createdAt, updatedAt]
+         */
+        @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+        @Query("SELECT a.articleId, a.title, a.summary, a.content, a.status, c.categoryId, c.name, u.name, " +
+                        "a.thumbnailUrl, a.viewCount, a.createdAt, a.updatedAt " +
+                        "FROM Article a LEFT JOIN a.category c LEFT JOIN a.author u " +
+                        "ORDER BY a.articleId")
+        Stream<Object[]> streamAllForExport();
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.newswebsite.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
+import com.example.newswebsite.util.ArticleStatus;
+
+public interface ArticleSummaryRepository {
+
+    /**
+     * Tìm bài viết theo Specification nhưng chỉ lấy các cột của
+     * ArticleSummaryDTO
+     */
+    Page<ArticleSummaryDTO> findSummaries(Specification<Article> spec, Pageable pageable);
+
+    /**
+     * Feed keyset của nhiều danh mục trong một câu lệnh: mỗi danh mục là một
+     * nhánh UNION ALL đọc tối đa limit bài theo idx_articles_category_status_created
+     * (không filesort), rồi ghép và cắt còn limit bài theo (createdAt, articleId)
+     * giảm dần
+     *
+     * @param createdAt Vị trí cursor, null cho trang đầu
+     * @param articleId Vị trí cursor, null cho trang đầu
+     */
+    List<ArticleSummaryDTO> findSummariesByCategoriesSeek(Collection<Integer> categoryIds, ArticleStatus status,
+            LocalDateTime createdAt, Integer articleId, int limit);
+}
@@ -0,0 +1,141 @@
+package com.example.newswebsite.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.domain.Category;
+import com.example.newswebsite.domain.User;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
+import com.example.newswebsite.util.ArticleStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class ArticleSummaryRepositoryImpl implements ArticleSummaryRepository {
+
+    // Cùng các cột với ArticleRepository.SUMMARY_SELECT
+    private static final String CATEGORY_SEEK_SELECT = "SELECT a.article_id, a.title, a.summary, a.thumbnail_url, "
+            + "au.name AS author_name, c.category_id, c.name AS category_name, a.created_at, a.updated_at, a.status "
+            + "FROM articles a LEFT JOIN users au ON au.user_id = a.author_id "
+            + "LEFT JOIN categories c ON c.category_id = a.category_id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ArticleSummaryDTO> findSummaries(Specification<Article> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArticleSummaryDTO> query = cb.createQuery(ArticleSummaryDTO.class);
+        Root<Article> root = query.from(Article.class);
+        Join<Article, User> author = root.join("author", JoinType.LEFT);
+        Join<Article, Category> category = root.join("category", JoinType.LEFT);
+        query.select(cb.construct(ArticleSummaryDTO.class,
+                root.get("articleId"),
+                root.get("title"),
+                root.get("summary"),
+                root.get("thumbnailUrl"),
+                author.get("name"),
+                category.get("categoryId"),
+                category.get("name"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("status")));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<ArticleSummaryDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ArticleSummaryDTO> content = typedQuery.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Article> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Article> root = query.from(Article.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<ArticleSummaryDTO> findSummariesByCategoriesSeek(Collection<Integer> categoryIds,
+            ArticleStatus status, LocalDateTime createdAt, Integer articleId, int limit) {
+        if (categoryIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < categoryIds.size(); i++) {
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append('(').append(CATEGORY_SEEK_SELECT)
+                    .append("WHERE a.category_id = :category").append(i).append(" AND a.status = :status ");
+            // Bài viết không có created_at không có vị trí cursor: loại khỏi feed
+            if (createdAt != null) {
+                sql.append("AND (a.created_at < :createdAt OR (a.created_at = :createdAt AND a.article_id < :articleId)) ");
+            } else {
+                sql.append("AND a.created_at IS NOT NULL ");
+            }
+            sql.append("ORDER BY a.created_at DESC, a.article_id DESC LIMIT :limit)");
+        }
+        sql.append(" ORDER BY created_at DESC, article_id DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int i = 0;
+        for (Integer categoryId : categoryIds) {
+            query.setParameter("category" + i++, categoryId);
+        }
+        query.setParameter("status", status.name());
+        query.setParameter("limit", limit);
+        if (createdAt != null) {
+            query.setParameter("createdAt", createdAt);
+            query.setParameter("articleId", articleId);
+        }
+
+        List<ArticleSummaryDTO> result = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            result.add(new ArticleSummaryDTO(toInteger(columns[0]), (String) columns[1], (String) columns[2],
+                    (String) columns[3], (String) columns[4], toInteger(columns[5]), (String) columns[6],
+                    toLocalDateTime(columns[7]), toLocalDateTime(columns[8]),
+                    ArticleStatus.valueOf((String) columns[9])));
+        }
+        return result;
+    }
+
+    private static Integer toInteger(Object value) {
+        return value != null ? ((Number) value).intValue() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.newswebsite.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.newswebsite.domain.ArticleViewDaily;
+import com.example.newswebsite.domain.ArticleViewDailyId;
+import com.example.newswebsite.util.ArticleStatus;
+
+/**
+ * Lượt xem theo ngày của mọi người đọc, cùng nguồn với articles.view_count. Ngày
+ * chứa thời điểm bắt đầu được tính trọn.
+ */
+@Repository
+public interface ArticleViewDailyRepository extends JpaRepository<ArticleViewDaily, ArticleViewDailyId> {
+
+    /**
+     * @return Danh sách mảng Object: [articleId, năm, tháng, ngày, số lượt xem]
+     */
+    @Query("SELECT v.id.articleId, YEAR(v.id.viewDate), MONTH(v.id.viewDate), DAY(v.id.viewDate), v.viewCount " +
+            "FROM ArticleViewDaily v JOIN Article a ON a.articleId = v.id.articleId " +
+            "WHERE a.status = :status AND v.id.viewDate >= :since")
+    List<Object[]> countGroupByArticleAndDay(@Param("status") ArticleStatus status,
+            @Param("since") LocalDate since);
+
+    /**
+     * Lấy các bài viết có nhiều lượt xem nhất kể từ một ngày
+     *
+     * @return Danh sách mảng Object: [articleId, số lượt xem], sắp xếp giảm dần
+     */
+    @Query("SELECT v.id.articleId, SUM(v.viewCount) AS views FROM ArticleViewDaily v " +
+            "WHERE v.id.viewDate >= :since " +
+            "GROUP BY v.id.articleId ORDER BY views DESC")
+    List<Object[]> findTopArticlesByViews(@Param("since") LocalDate since, Pageable pageable);
+
+    /**
+     * Lấy các tác giả có tổng lượt xem bài viết nhiều nhất kể từ một ngày
+     *
+     * @return Danh sách mảng Object: [authorId, tổng lượt xem], sắp xếp giảm dần
+     */
+    @Query("SELECT a.author.userId, SUM(v.viewCount) AS views FROM ArticleViewDaily v " +
+            "JOIN Article a ON a.articleId = v.id.articleId " +
+            "WHERE v.id.viewDate >= :since AND a.author IS NOT NULL " +
+            "GROUP BY a.author.userId ORDER BY views DESC")
+    List<Object[]> findTopAuthorsByViews(@Param("since") LocalDate since, Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package com.example.newswebsite.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.newswebsite.domain.CategoryClosure;
+import com.example.newswebsite.domain.CategoryClosureId;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosureId> {
+
+    /**
+     * @return Id danh mục cha theo bảng bao đóng (rỗng nếu là danh mục gốc)
+     */
+    @Query("SELECT cc.id.ancestorId FROM CategoryClosure cc WHERE cc.id.descendantId = :categoryId AND cc.depth = 1")
+    List<Integer> findParentIds(@Param("categoryId") Integer categoryId);
+
+    /**
+     * Thêm danh mục mới: dòng của chính nó và một dòng cho mỗi tổ tiên của
+     * parentId (parentId null thì chỉ có dòng của chính nó)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT :categoryId, :categoryId, 0 "
+            + "UNION ALL "
+            + "SELECT cc.ancestor_id, :categoryId, cc.depth + 1 FROM category_closure cc "
+            + "WHERE cc.descendant_id = :parentId", nativeQuery = true)
+    int insertNode(@Param("categoryId") Integer categoryId, @Param("parentId") Integer parentId);
+
+    /**
+     * Tách cây con của categoryId khỏi các tổ tiên hiện tại, giữ nguyên các
+     * cặp bên trong cây con
+     */
+    @Modifying
+    @Query(value = "DELETE cc FROM category_closure cc "
+            + "JOIN category_closure sub ON sub.descendant_id = cc.descendant_id AND sub.ancestor_id = :categoryId "
+            + "LEFT JOIN category_closure inside ON inside.descendant_id = cc.ancestor_id "
+            + "AND inside.ancestor_id = :categoryId "
+            + "WHERE inside.ancestor_id IS NULL", nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Integer categoryId);
+
+    /**
+     * Gắn cây con của categoryId (đã tách) vào dưới parentId
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+            + "SELECT p.ancestor_id, sub.descendant_id, p.depth + sub.depth + 1 "
+            + "FROM category_closure p JOIN category_closure sub "
+            + "WHERE p.descendant_id = :parentId AND sub.ancestor_id = :categoryId", nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Integer categoryId, @Param("parentId") Integer parentId);
+}
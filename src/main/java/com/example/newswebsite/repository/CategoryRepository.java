@@ -1,9 +1,12 @@
 package com.example.newswebsite.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.newswebsite.domain.Category;
 
@@ -13,4 +16,19 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
     List<Category> findByParentIsNull();
 
     List<Category> findByParentCategoryId(Integer parentId);
+
+    /**
+     * Lọc ra các id danh mục có tồn tại trong danh sách cho trước
+     */
+    @Query("SELECT c.categoryId FROM Category c WHERE c.categoryId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Toàn bộ danh mục cho snapshot cây danh mục
+     *
+     * @return Danh sách mảng Object: [categoryId, name, description, parentId]
+     */
+    @Query("SELECT c.categoryId, c.name, c.description, p.categoryId FROM Category c LEFT JOIN c.parent p "
+            + "ORDER BY c.categoryId")
+    List<Object[]> findAllForTree();
 }
\ No newline at end of file
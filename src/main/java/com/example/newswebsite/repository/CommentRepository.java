@@ -1,17 +1,26 @@
 package com.example.newswebsite.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.Comment;
 import com.example.newswebsite.domain.User;
+import com.example.newswebsite.util.ArticleStatus;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
@@ -20,6 +29,19 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
     Page<Comment> findByArticle(Article article, Pageable pageable);
 
+    /**
+     * Lấy toàn bộ bình luận của bài viết kèm thông tin tác giả trong một truy
+     * vấn, theo thứ tự thời gian
+     *
+     * @return Danh sách mảng Object: [commentId, parentId, nội dung, thời gian
+     *         tạo, tên tác giả, googleId tác giả, avatar tác giả]
+     */
+    @Query("SELECT c.commentId, p.commentId, c.content, c.createdAt, au.name, au.googleId, au.avatarUrl " +
+            "FROM Comment c LEFT JOIN c.parent p LEFT JOIN c.author au " +
+            "WHERE c.article.articleId = :articleId " +
+            "ORDER BY c.createdAt, c.commentId")
+    List<Object[]> findThreadRowsByArticleId(@Param("articleId") Integer articleId);
+
     Page<Comment> findByAuthor(User author, Pageable pageable);
 
     @Query("SELECT c FROM Comment c WHERE c.parent.commentId = :parentId")
@@ -27,4 +49,51 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
     @Query("SELECT COUNT(c) FROM Comment c WHERE c.article.articleId = :articleId")
     long countByArticleArticleId(@Param("articleId") Integer articleId);
+
+    /**
+     * Đếm số bình luận theo tháng
+     *
+     * @return Danh sách mảng Object: [năm, tháng, số bình luận]
+     */
+    @Query("SELECT YEAR(c.createdAt), MONTH(c.createdAt), COUNT(c) FROM Comment c " +
+            "WHERE c.createdAt IS NOT NULL " +
+            "GROUP BY YEAR(c.createdAt), MONTH(c.createdAt)")
+    List<Object[]> countGroupByMonth();
+
+    @Query("SELECT YEAR(c.createdAt), MONTH(c.createdAt), COUNT(c) FROM Comment c " +
+            "WHERE c.article.articleId = :articleId AND c.createdAt IS NOT NULL " +
+            "GROUP BY YEAR(c.createdAt), MONTH(c.createdAt)")
+    List<Object[]> countGroupByMonthForArticle(@Param("articleId") Integer articleId);
+
+    /**
+     * Đếm số bình luận theo bài viết và theo ngày kể từ một thời điểm
+     *
+     * @return Danh sách mảng Object: [articleId, năm, tháng, ngày, số bình luận]
+     */
+    @Query("SELECT c.article.articleId, YEAR(c.createdAt), MONTH(c.createdAt), DAY(c.createdAt), COUNT(c) " +
+            "FROM Comment c " +
+            "WHERE c.article.status = :status AND c.createdAt >= :since " +
+            "GROUP BY c.article.articleId, YEAR(c.createdAt), MONTH(c.createdAt), DAY(c.createdAt)")
+    List<Object[]> countGroupByArticleAndDay(@Param("status") ArticleStatus status,
+            @Param("since") LocalDateTime since);
+
+    @Query("SELECT c.article.articleId, COUNT(c) FROM Comment c " +
+            "WHERE c.article.articleId IN :articleIds AND c.createdAt >= :since " +
+            "GROUP BY c.article.articleId")
+    List<Object[]> countGroupByArticleIds(@Param("articleIds") Collection<Integer> articleIds,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Đọc toàn bộ bình luận để export theo thứ tự id (streaming, xem
+     * ArticleRepository.streamAllForExport)
+     *
+     * @return Stream mảng Object: [commentId, articleId, parentId, authorGoogleId,
+     *         authorName, content, createdAt]
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT c.commentId, a.articleId, p.commentId, u.googleId, u.name, c.content, c.createdAt " +
+            "FROM Comment c LEFT JOIN c.article a LEFT JOIN c.parent p LEFT JOIN c.author u " +
+            "ORDER BY c.commentId")
+    Stream<Object[]> streamAllForExport();
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package com.example.newswebsite.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.example.newswebsite.domain.Favorite;
+import com.example.newswebsite.domain.response.FavoriteSummaryDTO;
 
 public interface FavoriteRepository extends JpaRepository<Favorite, Integer> {
     List<Favorite> findByUserGoogleId(String googleId);
@@ -16,8 +19,18 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Integer> {
 
     Optional<Favorite> findByArticleArticleIdAndUserGoogleId(Integer articleId, String googleId);
 
-    @Query("SELECT f FROM Favorite f WHERE f.user.googleId = :googleId ORDER BY f.favoritedAt DESC")
-    List<Favorite> findAllByUserGoogleIdWithDetails(@Param("googleId") String googleId);
+    /**
+     * Lấy bài viết yêu thích của một người dùng kèm tác giả và danh mục trong một
+     * truy vấn, mới nhất trước. Dùng index (user_id, favorited_at).
+     */
+    @Query(value = "SELECT new com.example.newswebsite.domain.response.FavoriteSummaryDTO(" +
+            "a.articleId, a.title, a.summary, a.thumbnailUrl, COALESCE(u.name, ''), COALESCE(c.name, ''), " +
+            "c.categoryId, f.favoritedAt) " +
+            "FROM Favorite f JOIN f.article a LEFT JOIN a.author u LEFT JOIN a.category c " +
+            "WHERE f.user.userId = :userId " +
+            "ORDER BY f.favoritedAt DESC, f.favoriteId DESC", countQuery = "SELECT COUNT(f) FROM Favorite f "
+                    + "WHERE f.user.userId = :userId AND f.article IS NOT NULL")
+    Page<FavoriteSummaryDTO> findSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
 
     List<Favorite> findByUserGoogleIdOrderByFavoritedAtDesc(String googleId);
 }
\ No newline at end of file
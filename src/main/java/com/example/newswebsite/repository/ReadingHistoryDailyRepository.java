@@ -0,0 +1,31 @@
+package com.example.newswebsite.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.newswebsite.domain.ReadingHistoryDaily;
+import com.example.newswebsite.domain.ReadingHistoryDailyId;
+
+/**
+ * Các truy vấn đếm tương ứng với ReadingHistoryRepository trên phần lượt xem đã
+ * được gom theo ngày. Kết quả có cùng dạng để cộng trực tiếp với phần chưa gom.
+ */
+@Repository
+public interface ReadingHistoryDailyRepository extends JpaRepository<ReadingHistoryDaily, ReadingHistoryDailyId> {
+
+    /**
+     * @return Danh sách mảng Object: [năm, tháng, số lượt xem]
+     */
+    @Query("SELECT YEAR(d.id.viewDate), MONTH(d.id.viewDate), SUM(d.viewCount) FROM ReadingHistoryDaily d " +
+            "GROUP BY YEAR(d.id.viewDate), MONTH(d.id.viewDate)")
+    List<Object[]> countGroupByMonth();
+
+    @Query("SELECT YEAR(d.id.viewDate), MONTH(d.id.viewDate), SUM(d.viewCount) FROM ReadingHistoryDaily d " +
+            "WHERE d.id.articleId = :articleId " +
+            "GROUP BY YEAR(d.id.viewDate), MONTH(d.id.viewDate)")
+    List<Object[]> countGroupByMonthForArticle(@Param("articleId") Integer articleId);
+}
@@ -1,14 +1,21 @@
 package com.example.newswebsite.repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
 import com.example.newswebsite.domain.ReadingHistory;
 
 @Repository
@@ -23,18 +30,60 @@ public interface ReadingHistoryRepository extends JpaRepository<ReadingHistory,
     List<ReadingHistory> findAllByUserGoogleIdWithDetails(@Param("googleId") String googleId);
 
     /**
-     * Đếm số lần đọc mỗi bài viết của một người dùng và lấy thời gian đọc gần nhất
-     * 
-     * @param googleId ID Google của người dùng
-     * @return Danh sách mảng Object chứa các thông tin: [articleId, số lần đọc,
-     *         thời gian đọc gần nhất]
+     * Gom lịch sử đọc của một người dùng theo bài viết (số lần đọc, lần đọc gần
+     * nhất) kèm thông tin bài viết trong một truy vấn, mới đọc nhất trước. Gồm cả
+     * lượt xem đã được gom vào reading_history_daily.
+     *
+     * @return Trang mảng Object: [articleId, title, summary, thumbnailUrl,
+     *         authorName, categoryName, categoryId, số lần đọc, lần đọc gần nhất]
      */
-    @Query("SELECT rh.article.articleId, COUNT(rh), MAX(rh.viewedAt) FROM ReadingHistory rh " +
-            "WHERE rh.user.googleId = :googleId " +
-            "GROUP BY rh.article.articleId " +
-            "ORDER BY MAX(rh.viewedAt) DESC")
-    List<Object[]> countViewsByArticleAndUserGoogleId(@Param("googleId") String googleId);
+    @Query(value = "SELECT a.article_id, a.title, a.summary, a.thumbnail_url, COALESCE(u.name, ''), "
+            + "COALESCE(c.name, ''), c.category_id, v.views, v.last_viewed_at "
+            + "FROM (SELECT x.article_id, SUM(x.views) AS views, MAX(x.last_viewed_at) AS last_viewed_at FROM ("
+            + "SELECT rh.article_id, COUNT(*) AS views, MAX(rh.viewed_at) AS last_viewed_at FROM reading_history rh "
+            + "WHERE rh.user_id = :userId GROUP BY rh.article_id "
+            + "UNION ALL "
+            + "SELECT d.article_id, SUM(d.view_count), MAX(d.last_viewed_at) FROM reading_history_daily d "
+            + "WHERE d.user_id = :userId GROUP BY d.article_id"
+            + ") x GROUP BY x.article_id) v "
+            + "JOIN articles a ON a.article_id = v.article_id "
+            + "LEFT JOIN users u ON u.user_id = a.author_id "
+            + "LEFT JOIN categories c ON c.category_id = a.category_id "
+            + "ORDER BY v.last_viewed_at DESC, a.article_id DESC", countQuery = "SELECT COUNT(*) FROM ("
+                    + "SELECT rh.article_id FROM reading_history rh WHERE rh.user_id = :userId "
+                    + "UNION "
+                    + "SELECT d.article_id FROM reading_history_daily d WHERE d.user_id = :userId"
+                    + ") x JOIN articles a ON a.article_id = x.article_id", nativeQuery = true)
+    Page<Object[]> findSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
 
     @Query("SELECT COUNT(rh) FROM ReadingHistory rh WHERE rh.article.articleId = :articleId")
     long countByArticleArticleId(@Param("articleId") Integer articleId);
-}
+
+    /**
+     * Đếm số lượt xem theo tháng
+     *
+     * @return Danh sách mảng Object: [năm, tháng, số lượt xem]
+     */
+    @Query("SELECT YEAR(rh.viewedAt), MONTH(rh.viewedAt), COUNT(rh) FROM ReadingHistory rh " +
+            "WHERE rh.viewedAt IS NOT NULL " +
+            "GROUP BY YEAR(rh.viewedAt), MONTH(rh.viewedAt)")
+    List<Object[]> countGroupByMonth();
+
+    @Query("SELECT YEAR(rh.viewedAt), MONTH(rh.viewedAt), COUNT(rh) FROM ReadingHistory rh " +
+            "WHERE rh.article.articleId = :articleId AND rh.viewedAt IS NOT NULL " +
+            "GROUP BY YEAR(rh.viewedAt), MONTH(rh.viewedAt)")
+    List<Object[]> countGroupByMonthForArticle(@Param("articleId") Integer articleId);
+
+    /**
+     * Đọc toàn bộ lịch sử đọc để export theo thứ tự id (streaming, xem
+     * ArticleRepository.streamAllForExport)
+     *
+     * @return Stream mảng Object: [historyId, userGoogleId, articleId, viewedAt]
+     */
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT rh.historyId, u.googleId, a.articleId, rh.viewedAt " +
+            "FROM ReadingHistory rh LEFT JOIN rh.user u LEFT JOIN rh.article a " +
+            "ORDER BY rh.historyId")
+    Stream<Object[]> streamAllForExport();
+}
\ No newline at end of file
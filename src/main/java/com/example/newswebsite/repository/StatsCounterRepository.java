@@ -0,0 +1,18 @@
+package com.example.newswebsite.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.newswebsite.domain.StatsCounter;
+import com.example.newswebsite.domain.StatsCounterId;
+
+@Repository
+public interface StatsCounterRepository extends JpaRepository<StatsCounter, StatsCounterId> {
+    @Modifying
+    @Query(value = "INSERT INTO stats_counters (metric, bucket, counter_value) VALUES (:metric, :bucket, :delta) "
+            + "ON DUPLICATE KEY UPDATE counter_value = counter_value + :delta", nativeQuery = true)
+    void increment(@Param("metric") String metric, @Param("bucket") String bucket, @Param("delta") long delta);
+}
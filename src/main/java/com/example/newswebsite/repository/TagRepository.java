@@ -1,11 +1,48 @@
 package com.example.newswebsite.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.newswebsite.domain.Tag;
+import com.example.newswebsite.util.ArticleStatus;
 
 public interface TagRepository extends JpaRepository<Tag, Integer> {
     Optional<Tag> findByName(String name);
+
+    /**
+     * Lấy id và tên của các tag theo danh sách tên (một truy vấn IN)
+     *
+     * @return Danh sách mảng Object: [tagId, name]
+     */
+    @Query("SELECT t.tagId, t.name FROM Tag t WHERE t.name IN :names")
+    List<Object[]> findIdsAndNamesByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * Lọc ra các id tag có tồn tại trong danh sách cho trước
+     */
+    @Query("SELECT t.tagId FROM Tag t WHERE t.tagId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Lấy id và tên của tất cả tag
+     *
+     * @return Danh sách mảng Object: [tagId, name]
+     */
+    @Query("SELECT t.tagId, t.name FROM Tag t")
+    List<Object[]> findAllIdsAndNames();
+
+    /**
+     * Lấy các tag kèm tổng lượt xem của các bài viết đã xuất bản gắn tag đó
+     *
+     * @return Danh sách mảng Object: [tagId, name, tổng lượt xem]
+     */
+    @Query("SELECT t.tagId, t.name, COALESCE(SUM(a.viewCount), 0) FROM Tag t " +
+            "LEFT JOIN t.articles a ON a.status = :status " +
+            "GROUP BY t.tagId, t.name")
+    List<Object[]> findNamesWithViewCounts(@Param("status") ArticleStatus status);
 }
\ No newline at end of file
@@ -1,6 +1,11 @@
 package com.example.newswebsite.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.newswebsite.domain.User;
 
@@ -8,4 +13,27 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     User findByGoogleId(String googleId);
 
     User findByEmail(String email);
+
+    @Query("SELECT r.roleName, COUNT(u) FROM User u LEFT JOIN u.role r GROUP BY r.roleName")
+    List<Object[]> countGroupByRole();
+
+    List<User> findByUserIdIn(Collection<Integer> userIds);
+
+    /**
+     * Lấy thông tin định danh của người dùng, không tải entity
+     *
+     * @return Danh sách (tối đa một phần tử) mảng Object: [userId, googleId, tên
+     *         vai trò, tên, avatar]
+     */
+    @Query("SELECT u.userId, u.googleId, r.roleName, u.name, u.avatarUrl FROM User u LEFT JOIN u.role r " +
+            "WHERE u.googleId = :googleId")
+    List<Object[]> findIdentityByGoogleId(@Param("googleId") String googleId);
+
+    /**
+     * Tra cứu userId theo danh sách googleId trong một truy vấn
+     *
+     * @return Danh sách mảng Object: [googleId, userId]
+     */
+    @Query("SELECT u.googleId, u.userId FROM User u WHERE u.googleId IN :googleIds")
+    List<Object[]> findIdsByGoogleIds(@Param("googleIds") Collection<String> googleIds);
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.newswebsite.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.newswebsite.config.AppConfig;
+import com.example.newswebsite.domain.response.ArticleDTO;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache đọc xuyên (read-through) cho ArticleDTO và ArticleSummaryDTO của bài
+ * viết đã xuất bản, theo articleId. Chỉ bài viết PUBLISHED được đưa vào cache.
+ */
+@Service
+@Slf4j
+public class ArticleCacheService {
+
+    private final Cache cache;
+    private final Cache summaryCache;
+    private final ContentVersionService contentVersionService;
+
+    public ArticleCacheService(CacheManager cacheManager, ContentVersionService contentVersionService) {
+        this.cache = cacheManager.getCache(AppConfig.CACHE_ARTICLES);
+        this.summaryCache = cacheManager.getCache(AppConfig.CACHE_ARTICLE_SUMMARIES);
+        this.contentVersionService = contentVersionService;
+    }
+
+    /**
+     * Lấy DTO từ cache, nếu chưa có thì gọi loader. Loader trả về null (bài viết
+     * không tồn tại hoặc chưa xuất bản) thì không lưu vào cache.
+     */
+    public ArticleDTO get(Integer articleId, Supplier<ArticleDTO> loader) {
+        ArticleDTO cached = cache.get(articleId, ArticleDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+        ArticleDTO loaded = loader.get();
+        if (loaded != null) {
+            cache.put(articleId, loaded);
+        }
+        return loaded;
+    }
+
+    public ArticleDTO getIfPresent(Integer articleId) {
+        return cache.get(articleId, ArticleDTO.class);
+    }
+
+    public void put(Integer articleId, ArticleDTO dto) {
+        cache.put(articleId, dto);
+    }
+
+    public ArticleSummaryDTO getSummaryIfPresent(Integer articleId) {
+        return summaryCache.get(articleId, ArticleSummaryDTO.class);
+    }
+
+    public void putSummary(Integer articleId, ArticleSummaryDTO summary) {
+        summaryCache.put(articleId, summary);
+    }
+
+    /**
+     * Xóa bài viết khỏi cache. Trong transaction thì xóa thêm một lần sau khi
+     * commit để request đọc song song không nạp lại dữ liệu cũ.
+     */
+    public void evict(Integer articleId) {
+        cache.evict(articleId);
+        summaryCache.evict(articleId);
+        contentVersionService.articleChanged(articleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(articleId);
+                    summaryCache.evict(articleId);
+                    contentVersionService.articleChanged(articleId);
+                }
+            });
+        }
+        log.debug("Evicted article {} from cache", articleId);
+    }
+
+    /**
+     * Xóa toàn bộ cache, dùng khi dữ liệu dùng chung (danh mục, tag) thay đổi
+     */
+    public void clear() {
+        cache.clear();
+        summaryCache.clear();
+        contentVersionService.articlesCleared();
+        log.debug("Cleared article cache");
+    }
+}
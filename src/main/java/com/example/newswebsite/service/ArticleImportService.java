@@ -0,0 +1,386 @@
+package com.example.newswebsite.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.domain.Category;
+import com.example.newswebsite.domain.request.ArticleImportRequest;
+import com.example.newswebsite.domain.response.ArticleImportResult;
+import com.example.newswebsite.repository.CategoryRepository;
+import com.example.newswebsite.service.UserIdentityService.UserIdentity;
+import com.example.newswebsite.util.ArticleStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import bài viết hàng loạt từ NDJSON hoặc mảng JSON. Body được đọc dần bằng
+ * streaming parser của Jackson, mỗi lần chỉ giữ một chunk bản ghi trong bộ nhớ.
+ * Mỗi chunk được ghi trong một transaction: danh mục và tag được tra theo lô,
+ * bài viết và liên kết tag được chèn bằng JDBC batch (bật
+ * rewriteBatchedStatements=true trên URL JDBC để MySQL gộp thành INSERT nhiều
+ * dòng). Bản ghi lỗi được báo theo thứ tự trong luồng, không làm hỏng các bản
+ * ghi khác.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleImportService {
+
+    private static final String INSERT_ARTICLE_SQL = "INSERT INTO articles "
+            + "(title, summary, content, author_id, created_at, updated_at, status, category_id, thumbnail_url) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ARTICLE_TAG_SQL = "INSERT INTO article_tags (article_id, tag_id) VALUES (?, ?)";
+
+    // Giới hạn độ dài các cột varchar(255) của bảng articles
+    private static final int MAX_COLUMN_LENGTH = 255;
+    // Cột content kiểu TEXT: tối đa 65.535 byte
+    private static final int MAX_CONTENT_BYTES = 65_535;
+
+    @AllArgsConstructor
+    private static class Row {
+        private final long index;
+        private final ArticleImportRequest record;
+    }
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserIdentityService userIdentityService;
+    private final CategoryRepository categoryRepository;
+    private final TagResolverService tagResolverService;
+    private final StatsCounterService statsCounterService;
+    private final FeedCacheService feedCacheService;
+    private final SearchIndexService searchIndexService;
+    private final AutocompleteService autocompleteService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${import.articles.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.articles.max-errors:1000}")
+    private int maxErrors;
+
+    private Timer chunkTimer;
+    private Counter importedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void init() {
+        chunkTimer = Timer.builder("articles.import.chunk")
+                .description("Thời gian ghi một chunk bài viết import")
+                .register(meterRegistry);
+        importedCounter = meterRegistry.counter("articles.import.rows");
+        failedCounter = meterRegistry.counter("articles.import.failed");
+    }
+
+    /**
+     * Import bài viết từ luồng JSON, tác giả là người gọi
+     *
+     * @param body     NDJSON (mỗi dòng một object) hoặc một mảng JSON các object
+     * @param googleId Google ID của admin thực hiện import
+     * @return Số bản ghi đã nhận, đã ghi, bị lỗi và tốc độ ghi
+     */
+    public ArticleImportResult importArticles(InputStream body, String googleId) throws IOException {
+        UserIdentity author = userIdentityService.get(googleId);
+        if (author == null) {
+            throw new RuntimeException("User not found");
+        }
+        if (!"admin".equals(author.getRoleName())) {
+            throw new RuntimeException("Unauthorized: Only admins can import articles");
+        }
+
+        ArticleImportResult result = new ArticleImportResult();
+        Set<Integer> knownCategories = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long start = System.nanoTime();
+        long index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                long current = index++;
+                result.setReceived(index);
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    error(result, current, "Expected a JSON object");
+                } else {
+                    // Đọc từng bản ghi thành cây để lỗi kiểu dữ liệu không làm lệch vị trí parser
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        ArticleImportRequest record = objectMapper.treeToValue(node, ArticleImportRequest.class);
+                        String invalid = validate(record);
+                        if (invalid != null) {
+                            error(result, current, invalid);
+                        } else {
+                            chunk.add(new Row(current, record));
+                        }
+                    } catch (JsonProcessingException e) {
+                        error(result, current, "Invalid record: " + e.getOriginalMessage());
+                    }
+                }
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, author, knownCategories, result);
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // Lỗi cú pháp thì không xác định được bản ghi tiếp theo: dừng, giữ các chunk đã ghi
+            result.setAborted(true);
+            String line = e.getLocation() != null ? " at line " + e.getLocation().getLineNr() : "";
+            error(result, index, "Malformed JSON" + line + ": " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, author, knownCategories, result);
+        }
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        result.setElapsedMs(elapsedMs);
+        result.setRowsPerSecond(elapsedMs > 0 ? result.getImported() * 1000.0 / elapsedMs : result.getImported());
+        log.info("Imported {} of {} articles in {} ms ({} rows/s, {} failed{})", result.getImported(),
+                result.getReceived(), elapsedMs, Math.round(result.getRowsPerSecond()), result.getFailed(),
+                result.isAborted() ? ", aborted" : "");
+        return result;
+    }
+
+    private String validate(ArticleImportRequest record) {
+        if (record.getTitle() == null || record.getTitle().trim().isEmpty()) {
+            return "Title is required";
+        }
+        if (record.getTitle().length() > MAX_COLUMN_LENGTH) {
+            return "Title is too long";
+        }
+        if (record.getSummary() != null && record.getSummary().length() > MAX_COLUMN_LENGTH) {
+            return "Summary is too long";
+        }
+        if (record.getThumbnailUrl() != null && record.getThumbnailUrl().length() > MAX_COLUMN_LENGTH) {
+            return "Thumbnail URL is too long";
+        }
+        // Strict mode: nội dung quá dài làm lỗi cả lô INSERT articles
+        if (record.getContent() != null
+                && record.getContent().getBytes(StandardCharsets.UTF_8).length > MAX_CONTENT_BYTES) {
+            return "Content is too long";
+        }
+        if (record.getCategoryId() == null) {
+            return "Category ID is required";
+        }
+        if (record.getTagNames() != null) {
+            for (String name : record.getTagNames()) {
+                // Tên tag quá dài làm lỗi câu INSERT tags của cả chunk
+                if (name != null && name.trim().length() > MAX_COLUMN_LENGTH) {
+                    return "Tag name is too long";
+                }
+            }
+        }
+        return null;
+    }
+
+    private void writeChunk(List<Row> chunk, UserIdentity author, Set<Integer> knownCategories,
+            ArticleImportResult result) {
+        // Tra các danh mục chưa gặp bằng một truy vấn
+        Set<Integer> unknown = new HashSet<>();
+        for (Row row : chunk) {
+            if (!knownCategories.contains(row.record.getCategoryId())) {
+                unknown.add(row.record.getCategoryId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            knownCategories.addAll(categoryRepository.findExistingIds(unknown));
+        }
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (knownCategories.contains(row.record.getCategoryId())) {
+                rows.add(row);
+            } else {
+                error(result, row.index, "Category not found: " + row.record.getCategoryId());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Integer> articleIds;
+        try {
+            articleIds = transactionTemplate.execute(status -> insertRows(rows, author.getUserId()));
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                error(result, rows.get(0).index, "Insert failed: " + e.getMessage());
+                return;
+            }
+            // Chunk đã rollback: ghi lại từng bản ghi để chỉ báo lỗi bản ghi hỏng
+            log.warn("Failed to import chunk of {} articles, retrying one by one: {}", rows.size(), e.getMessage());
+            for (Row row : rows) {
+                List<Row> single = List.of(row);
+                try {
+                    imported(single, transactionTemplate.execute(status -> insertRows(single, author.getUserId())),
+                            result);
+                } catch (RuntimeException rowError) {
+                    error(result, row.index, "Insert failed: " + rowError.getMessage());
+                }
+            }
+            return;
+        }
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        imported(rows, articleIds, result);
+    }
+
+    private void imported(List<Row> rows, List<Integer> articleIds, ArticleImportResult result) {
+        importedCounter.increment(rows.size());
+        result.setImported(result.getImported() + rows.size());
+        published(rows, articleIds);
+    }
+
+    private List<Integer> insertRows(List<Row> rows, Integer authorId) {
+        Set<String> tagNames = new HashSet<>();
+        for (Row row : rows) {
+            if (row.record.getTagNames() != null) {
+                tagNames.addAll(row.record.getTagNames());
+            }
+        }
+        Map<String, Integer> tagIds = tagResolverService.resolveIds(tagNames);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> articleIds = jdbcTemplate.execute((ConnectionCallback<List<Integer>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ARTICLE_SQL,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Row row : rows) {
+                    ArticleImportRequest record = row.record;
+                    LocalDateTime createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : now;
+                    ps.setString(1, record.getTitle().trim());
+                    ps.setString(2, record.getSummary());
+                    ps.setString(3, record.getContent());
+                    ps.setInt(4, authorId);
+                    ps.setTimestamp(5, Timestamp.valueOf(createdAt));
+                    ps.setTimestamp(6, Timestamp.valueOf(now));
+                    ps.setString(7, statusOf(record).name());
+                    ps.setInt(8, record.getCategoryId());
+                    if (record.getThumbnailUrl() != null) {
+                        ps.setString(9, record.getThumbnailUrl());
+                    } else {
+                        ps.setNull(9, Types.VARCHAR);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Integer> keys = new ArrayList<>(rows.size());
+                try (ResultSet generated = ps.getGeneratedKeys()) {
+                    while (generated.next()) {
+                        keys.add(generated.getInt(1));
+                    }
+                }
+                return keys;
+            }
+        });
+        if (articleIds == null || articleIds.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated article ids, got "
+                    + (articleIds == null ? 0 : articleIds.size()));
+        }
+
+        List<Object[]> links = new ArrayList<>();
+        Map<ArticleStatus, Map<Integer, Long>> created = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ArticleImportRequest record = rows.get(i).record;
+            if (record.getTagNames() != null) {
+                Set<Integer> ids = new LinkedHashSet<>();
+                for (String name : record.getTagNames()) {
+                    Integer tagId = name != null ? tagIds.get(name.trim()) : null;
+                    if (tagId != null) {
+                        ids.add(tagId);
+                    }
+                }
+                for (Integer tagId : ids) {
+                    links.add(new Object[] { articleIds.get(i), tagId });
+                }
+            }
+            created.computeIfAbsent(statusOf(record), status -> new HashMap<>())
+                    .merge(record.getCategoryId(), 1L, Long::sum);
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ARTICLE_TAG_SQL, links);
+        }
+
+        // Bộ đếm thống kê được cộng theo nhóm trong cùng transaction với bài viết
+        created.forEach((status, byCategory) -> byCategory
+                .forEach((categoryId, count) -> statsCounterService.articlesCreated(status, categoryId, count)));
+        return articleIds;
+    }
+
+    /**
+     * Cập nhật chỉ mục tìm kiếm, gợi ý và feed cho các bài đã xuất bản sau khi
+     * chunk được commit
+     */
+    private void published(List<Row> rows, List<Integer> articleIds) {
+        boolean any = false;
+        for (int i = 0; i < rows.size(); i++) {
+            ArticleImportRequest record = rows.get(i).record;
+            if (statusOf(record) != ArticleStatus.PUBLISHED) {
+                continue;
+            }
+            Article article = new Article();
+            article.setArticleId(articleIds.get(i));
+            article.setTitle(record.getTitle().trim());
+            article.setSummary(record.getSummary());
+            article.setContent(record.getContent());
+            article.setStatus(ArticleStatus.PUBLISHED);
+            Category category = new Category();
+            category.setCategoryId(record.getCategoryId());
+            article.setCategory(category);
+            searchIndexService.articleChanged(article);
+            autocompleteService.articleChanged(article);
+            any = true;
+        }
+        if (any) {
+            feedCacheService.clear();
+        }
+    }
+
+    private void error(ArticleImportResult result, long index, String message) {
+        result.setFailed(result.getFailed() + 1);
+        failedCounter.increment();
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ArticleImportResult.RecordError(index, message));
+        }
+    }
+
+    private static ArticleStatus statusOf(ArticleImportRequest record) {
+        return record.getStatus() != null ? record.getStatus() : ArticleStatus.PENDING;
+    }
+}
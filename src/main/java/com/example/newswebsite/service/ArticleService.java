@@ -1,15 +1,24 @@
 package com.example.newswebsite.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -18,16 +27,19 @@ import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.Category;
 import com.example.newswebsite.domain.ReadingHistory;
 import com.example.newswebsite.domain.Tag;
-import com.example.newswebsite.domain.User;
 import com.example.newswebsite.domain.request.ArticleUpdateRequest;
 import com.example.newswebsite.domain.response.ArticleDTO;
-import com.example.newswebsite.domain.response.CategoryTreeDTO;
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
+import com.example.newswebsite.domain.response.CursorPage;
 import com.example.newswebsite.repository.ArticleRepository;
 import com.example.newswebsite.repository.CategoryRepository;
 import com.example.newswebsite.repository.ReadingHistoryRepository;
-import com.example.newswebsite.repository.TagRepository;
-import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.service.FeedCacheService.Feed;
+import com.example.newswebsite.service.FeedCacheService.FeedKey;
+import com.example.newswebsite.service.FeedCacheService.FeedSlice;
+import com.example.newswebsite.service.UserIdentityService.UserIdentity;
 import com.example.newswebsite.util.ArticleStatus;
+import com.example.newswebsite.util.FeedCursor;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -38,52 +50,163 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ArticleService {
     private final ArticleRepository articleRepository;
-    private final UserRepository userService;
-    private final TagRepository tagRepository;
+    private final UserIdentityService userIdentityService;
+    private final TagResolverService tagResolverService;
     private final ReadingHistoryRepository readingHistoryRepository;
     private final CategoryService categoryService;
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final StatsCounterService statsCounterService;
+    private final ReadingHistoryIngestService readingHistoryIngestService;
+    private final ViewCounterService viewCounterService;
+    private final ArticleCacheService articleCacheService;
+    private final FeedCacheService feedCacheService;
+    private final HotScoreService hotScoreService;
+    private final SearchIndexService searchIndexService;
+    private final AutocompleteService autocompleteService;
+    private final ContentVersionService contentVersionService;
 
     private static final Logger log = LoggerFactory.getLogger(ArticleService.class);
 
-    public Page<ArticleDTO> getArticlesForHome(Pageable pageable) {
+    @Value("${feeds.cursor.max-size:50}")
+    private int maxCursorSize;
+
+    public Page<ArticleSummaryDTO> getArticlesForHome(Pageable pageable) {
         log.info("Fetching articles for home with pageable: {}", pageable);
-        Page<Article> articles = articleRepository.findByStatus(ArticleStatus.PUBLISHED, pageable);
+        Page<ArticleSummaryDTO> articles = getFeed(Feed.HOME, null, pageable,
+                () -> articleRepository.findSummariesByStatus(ArticleStatus.PUBLISHED, pageable));
         if (articles.isEmpty()) {
             log.warn("No published articles found.");
         }
-        return articles.map(this::convertToDTO);
+        return articles;
     }
 
-    public Page<ArticleDTO> getArticlesByCategory(Integer categoryId, Pageable pageable) {
+    public Page<ArticleSummaryDTO> getArticlesByCategory(Integer categoryId, Pageable pageable) {
         log.info("Fetching articles for categoryId: {} with pageable: {}", categoryId, pageable);
-        Page<Article> articles = articleRepository.findByCategoryCategoryIdAndStatus(categoryId,
-                ArticleStatus.PUBLISHED, pageable);
+        Page<ArticleSummaryDTO> articles = getFeed(Feed.CATEGORY, categoryId, pageable,
+                () -> articleRepository.findSummariesByCategory(categoryId, ArticleStatus.PUBLISHED, pageable));
         if (articles.isEmpty()) {
             log.warn("No articles found for categoryId: {}", categoryId);
         }
-        return articles.map(this::convertToDTO);
+        return articles;
     }
 
-    public List<CategoryTreeDTO> getCategoryTree() {
-        List<Category> rootCategories = categoryRepository.findByParentIsNull();
-        return rootCategories.stream()
-                .map(this::convertToTreeDTO)
-                .collect(Collectors.toList());
+    /**
+     * Lấy một trang feed. Các trang đầu được cache dưới dạng danh sách articleId,
+     * dữ liệu tóm tắt lấy từ cache ArticleSummaryDTO nên trang đã cache không tốn
+     * truy vấn DB.
+     */
+    private Page<ArticleSummaryDTO> getFeed(Feed feed, Integer categoryId, Pageable pageable,
+            Supplier<Page<ArticleSummaryDTO>> query) {
+        if (!feedCacheService.isCacheable(pageable)) {
+            return query.get();
+        }
+        FeedKey key = feedCacheService.key(feed, categoryId, pageable);
+        FeedSlice slice = feedCacheService.get(key);
+        if (slice != null) {
+            List<ArticleSummaryDTO> articles = hydrate(slice.getArticleIds());
+            if (articles.size() == slice.getArticleIds().length) {
+                return new PageImpl<>(articles, pageable, slice.getTotal());
+            }
+        }
+
+        Page<ArticleSummaryDTO> page = query.get();
+        int[] articleIds = new int[page.getNumberOfElements()];
+        for (int i = 0; i < articleIds.length; i++) {
+            ArticleSummaryDTO summary = page.getContent().get(i);
+            articleCacheService.putSummary(summary.getArticleId(), summary);
+            articleIds[i] = summary.getArticleId();
+        }
+        feedCacheService.put(key, new FeedSlice(articleIds, page.getTotalElements()));
+        return page;
+    }
+
+    /**
+     * Lấy bản tóm tắt theo thứ tự articleIds, bài chưa có trong cache được nạp
+     * bằng một truy vấn. Bài viết không còn xuất bản bị bỏ qua.
+     */
+    private List<ArticleSummaryDTO> hydrate(int[] articleIds) {
+        Map<Integer, ArticleSummaryDTO> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (int articleId : articleIds) {
+            ArticleSummaryDTO cached = articleCacheService.getSummaryIfPresent(articleId);
+            if (cached != null) {
+                found.put(articleId, cached);
+            } else {
+                missing.add(articleId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ArticleSummaryDTO summary : articleRepository.findSummariesByIds(missing)) {
+                if (summary.getStatus() == ArticleStatus.PUBLISHED) {
+                    articleCacheService.putSummary(summary.getArticleId(), summary);
+                    found.put(summary.getArticleId(), summary);
+                }
+            }
+        }
+        List<ArticleSummaryDTO> articles = new ArrayList<>(articleIds.length);
+        for (int articleId : articleIds) {
+            ArticleSummaryDTO cached = found.get(articleId);
+            if (cached != null) {
+                articles.add(cached);
+            }
+        }
+        return articles;
     }
 
     public ArticleDTO getArticleById(Integer articleId, String googleId) {
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("Article not found"));
+        ArticleDTO cached = articleCacheService.getIfPresent(articleId);
+        if (cached == null) {
+            Article article = articleRepository.findById(articleId)
+                    .orElseThrow(() -> new RuntimeException("Article not found"));
+            if (article.getStatus() != ArticleStatus.PUBLISHED) {
+                recordView(articleId, googleId, false);
+                return convertToDTO(article);
+            }
+            cached = toCachedDTO(article);
+            articleCacheService.put(articleId, cached);
+        }
+        contentVersionService.articleLoaded(articleId, cached.getUpdatedAt());
+        recordView(articleId, googleId, true);
+        return withCurrentViews(cached);
+    }
+
+    /**
+     * Ghi lượt xem khi client đã có bản mới nhất của bài viết (trả 304), không
+     * đọc lại bài viết. Chỉ bài viết đã xuất bản mới có phiên bản để trả 304.
+     */
+    public void recordNotModifiedView(Integer articleId, String googleId) {
+        recordView(articleId, googleId, true);
+    }
+
+    private void recordView(Integer articleId, String googleId, boolean published) {
+        viewCounterService.increment(articleId);
+        if (published) {
+            hotScoreService.viewRecorded(articleId);
+        }
+
+        // Ghi lịch sử đọc nếu có thông tin người dùng (bất đồng bộ, không chặn request)
         if (googleId != null) {
-            User user = userService.findByGoogleId(googleId);
-            ReadingHistory history = new ReadingHistory();
-            history.setUser(user);
-            history.setArticle(article);
-            history.setViewedAt(LocalDateTime.now());
-            readingHistoryRepository.save(history);
-        }
-        return convertToDTO(article);
+            readingHistoryIngestService.record(articleId, googleId);
+        }
+    }
+
+    /**
+     * DTO để lưu cache: tags không sửa được, viewCount lưu giá trị gốc (baseline)
+     * để cộng lượt xem mới nhất khi trả về
+     */
+    private ArticleDTO toCachedDTO(Article article) {
+        ArticleDTO dto = convertToDTO(article);
+        dto.setTags(Set.copyOf(dto.getTags()));
+        dto.setViewCount(viewCounterService.getBaseline(article.getArticleId(), article.getViewCount()));
+        return dto;
+    }
+
+    // Trả về bản sao của DTO trong cache kèm lượt xem hiện tại
+    private ArticleDTO withCurrentViews(ArticleDTO cached) {
+        return cached.toBuilder()
+                .viewCount(viewCounterService.getViewCountFromBaseline(cached.getArticleId(), cached.getViewCount()))
+                .build();
     }
 
     private ArticleDTO convertToDTO(Article article) {
@@ -112,6 +235,7 @@ public class ArticleService {
             }
 
             dto.setCreatedAt(article.getCreatedAt());
+            dto.setUpdatedAt(article.getUpdatedAt());
             dto.setStatus(article.getStatus() != null ? article.getStatus() : ArticleStatus.PENDING);
 
             // Category
@@ -143,6 +267,9 @@ public class ArticleService {
             // Set thumbnail url
             dto.setThumbnailUrl(article.getThumbnailUrl());
 
+            // Lượt xem đã lưu cộng với lượt xem chưa được ghi xuống DB
+            dto.setViewCount(viewCounterService.getViewCount(article.getArticleId(), article.getViewCount()));
+
             return dto;
         } catch (Exception e) {
             log.error("Error converting article {} to DTO: {}", article.getArticleId(), e.getMessage(), e);
@@ -150,28 +277,8 @@ public class ArticleService {
         }
     }
 
-    // Chuyển đổi Category sang Tree DTO
-    private CategoryTreeDTO convertToTreeDTO(Category category) {
-        CategoryTreeDTO dto = new CategoryTreeDTO();
-        dto.setCategoryId(category.getCategoryId());
-        dto.setName(category.getName());
-        dto.setDescription(category.getDescription());
-        dto.setParentId(category.getParent() != null ? category.getParent().getCategoryId() : null);
-
-        if (category.getSubcategories() != null && !category.getSubcategories().isEmpty()) {
-            List<CategoryTreeDTO> subcategories = category.getSubcategories().stream()
-                    .map(this::convertToTreeDTO)
-                    .collect(Collectors.toList());
-            dto.setSubcategories(subcategories);
-        } else {
-            dto.setSubcategories(List.of());
-        }
-
-        return dto;
-    }
-
-    public Page<Article> findArticles(Specification<Article> spec, Pageable pageable) {
-        return articleRepository.findAll(spec, pageable);
+    public Page<ArticleSummaryDTO> findArticles(Specification<Article> spec, Pageable pageable) {
+        return articleRepository.findSummaries(spec, pageable);
     }
 
     @Transactional
@@ -180,21 +287,21 @@ public class ArticleService {
         log.info("Creating article with googleId: {}, categoryId: {}, tagNames: {}", googleId, categoryId, tagNames);
 
         // Tìm user theo googleId
-        User author = userService.findByGoogleId(googleId);
+        UserIdentity author = userIdentityService.get(googleId);
         if (author == null) {
             log.error("User not found with googleId: {}", googleId);
             throw new RuntimeException("User not found");
         }
 
         // Kiểm tra quyền
-        String role = author.getRole() != null ? author.getRole().getRoleName() : null;
+        String role = author.getRoleName();
         if (role == null || (!role.equalsIgnoreCase("editor") && !role.equalsIgnoreCase("admin"))) {
             log.warn("Unauthorized attempt by user: {}", googleId);
             throw new RuntimeException("Unauthorized: Only editors or admins can create articles");
         }
 
         // Gán thông tin cơ bản cho bài báo
-        article.setAuthor(author);
+        article.setAuthor(userIdentityService.getReference(author));
         article.setCreatedAt(LocalDateTime.now());
         article.setStatus(ArticleStatus.PENDING);
 
@@ -218,21 +325,7 @@ public class ArticleService {
 
         // Gán tags
         if (tagNames != null && !tagNames.isEmpty()) {
-            Set<Tag> tagsToAssign = new HashSet<>();
-
-            for (String tagName : tagNames) {
-                if (tagName != null && !tagName.trim().isEmpty()) {
-                    String normalizedTagName = tagName.trim();
-                    Tag tag = tagRepository.findByName(normalizedTagName)
-                            .orElseGet(() -> {
-                                Tag newTag = new Tag();
-                                newTag.setName(normalizedTagName);
-                                return tagRepository.save(newTag);
-                            });
-                    tagsToAssign.add(tag);
-                }
-            }
-            article.setTags(tagsToAssign);
+            article.setTags(tagResolverService.resolve(tagNames));
         } else {
             article.setTags(Collections.emptySet());
         }
@@ -240,6 +333,9 @@ public class ArticleService {
         // Lưu bài báo
         try {
             Article savedArticle = articleRepository.save(article);
+            statsCounterService.articleCreated(savedArticle.getStatus(), categoryId);
+            searchIndexService.articleChanged(savedArticle);
+            autocompleteService.articleChanged(savedArticle);
             log.info("Article created successfully with ID: {}", savedArticle.getArticleId());
             return savedArticle;
         } catch (Exception e) {
@@ -251,24 +347,32 @@ public class ArticleService {
     public Article publishArticle(Integer articleId, String googleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
-        User user = userService.findByGoogleId(googleId);
+        UserIdentity user = requireUser(googleId);
         // Chỉ ADMIN được duyệt đăng
-        if (!user.getRole().getRoleName().equals("admin")) {
+        if (!"admin".equals(user.getRoleName())) {
             throw new RuntimeException("Unauthorized: Only admins can publish articles");
         }
 
+        ArticleStatus oldStatus = article.getStatus();
         article.setStatus(ArticleStatus.PUBLISHED);
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        statsCounterService.articleChanged(oldStatus, categoryIdOf(saved), saved.getStatus(), categoryIdOf(saved));
+        articleCacheService.evict(articleId);
+        feedCacheService.articleChanged(oldStatus, categoryIdOf(saved), saved.getStatus(), categoryIdOf(saved));
+        hotScoreService.articleChanged(articleId, saved.getStatus());
+        searchIndexService.articleChanged(saved);
+        autocompleteService.articleChanged(saved);
+        return saved;
     }
 
     public Article updateArticle(Integer articleId, ArticleUpdateRequest request, String googleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
-        User user = userService.findByGoogleId(googleId);
+        UserIdentity user = requireUser(googleId);
 
         // Cho phép ADMIN và EDITOR cập nhật
-        String role = user.getRole().getRoleName();
-        if (!role.equalsIgnoreCase("admin") && !role.equalsIgnoreCase("editor")) {
+        String role = user.getRoleName();
+        if (role == null || (!role.equalsIgnoreCase("admin") && !role.equalsIgnoreCase("editor"))) {
             throw new RuntimeException("Unauthorized: Only admins and editors can update articles");
         }
 
@@ -277,6 +381,9 @@ public class ArticleService {
             throw new RuntimeException("Unauthorized: Editors can only update their own articles");
         }
 
+        ArticleStatus oldStatus = article.getStatus();
+        Integer oldCategoryId = categoryIdOf(article);
+
         // Cập nhật title
         if (request.getTitle() != null && !request.getTitle().isBlank()) {
             article.setTitle(request.getTitle());
@@ -302,11 +409,7 @@ public class ArticleService {
 
         // Cập nhật tags
         if (request.getTags() != null && !request.getTags().isEmpty()) {
-            Set<Tag> tags = request.getTags().stream()
-                    .map(name -> tagRepository.findByName(name)
-                            .orElseGet(() -> tagRepository.save(new Tag(null, name, null))))
-                    .collect(Collectors.toSet());
-            article.setTags(tags);
+            article.setTags(tagResolverService.resolve(request.getTags()));
         }
 
         // Cập nhật content (HTML)
@@ -323,35 +426,47 @@ public class ArticleService {
         article.setStatus(ArticleStatus.PENDING);
         log.info("Article {} updated by {}. Status set to PENDING", articleId, googleId);
 
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        statsCounterService.articleChanged(oldStatus, oldCategoryId, saved.getStatus(), categoryIdOf(saved));
+        articleCacheService.evict(articleId);
+        feedCacheService.articleChanged(oldStatus, oldCategoryId, saved.getStatus(), categoryIdOf(saved));
+        hotScoreService.articleChanged(articleId, saved.getStatus());
+        searchIndexService.articleChanged(saved);
+        autocompleteService.articleChanged(saved);
+        return saved;
     }
 
     public void deleteArticle(Integer articleId, String googleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
-        User user = userService.findByGoogleId(googleId);
-        if (!article.getAuthor().getGoogleId().equals(googleId) && !user.getRole().getRoleName().equals("admin")) {
+        UserIdentity user = requireUser(googleId);
+        if (!article.getAuthor().getGoogleId().equals(googleId) && !"admin".equals(user.getRoleName())) {
             throw new RuntimeException("Unauthorized");
         }
+        statsCounterService.articleDeleted(articleId, article.getStatus(), categoryIdOf(article));
         articleRepository.delete(article);
+        viewCounterService.discard(articleId);
+        articleCacheService.evict(articleId);
+        feedCacheService.articleChanged(article.getStatus(), categoryIdOf(article), null, null);
+        hotScoreService.articleChanged(articleId, null);
+        searchIndexService.articleDeleted(articleId);
+        autocompleteService.articleDeleted(articleId);
     }
 
     public Article addTagsToArticle(Integer articleId, List<String> tagNames, String googleId) {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
-        User user = userService.findByGoogleId(googleId);
-        if (!article.getAuthor().getGoogleId().equals(googleId) && !user.getRole().getRoleName().equals("admin")) {
+        UserIdentity user = requireUser(googleId);
+        if (!article.getAuthor().getGoogleId().equals(googleId) && !"admin".equals(user.getRoleName())) {
             throw new RuntimeException("Unauthorized");
         }
         if (article.getTags() == null) {
             article.setTags(new HashSet<>());
         }
-        Set<Tag> tags = tagNames.stream()
-                .map(name -> tagRepository.findByName(name)
-                        .orElseGet(() -> tagRepository.save(new Tag(null, name, null))))
-                .collect(Collectors.toSet());
-        article.getTags().addAll(tags);
-        return articleRepository.save(article);
+        article.getTags().addAll(tagResolverService.resolve(tagNames));
+        Article saved = articleRepository.save(article);
+        articleCacheService.evict(articleId);
+        return saved;
     }
 
     // public Article getArticleById(Integer articleId, String googleId) {
@@ -374,14 +489,14 @@ public class ArticleService {
         return readingHistoryRepository.findByUserGoogleIdOrderByViewedAtDesc(googleId);
     }
 
-    public Page<ArticleDTO> getArticlesByAuthorGoogleId(String googleId, Pageable pageable) {
+    public Page<ArticleSummaryDTO> getArticlesByAuthorGoogleId(String googleId, Pageable pageable) {
         log.info("Fetching articles for author with googleId: {} with pageable: {}", googleId, pageable);
-        Page<Article> articles = articleRepository.findByAuthorGoogleIdAndStatus(googleId, ArticleStatus.PUBLISHED,
-                pageable);
+        Page<ArticleSummaryDTO> articles = articleRepository.findSummariesByAuthor(googleId,
+                ArticleStatus.PUBLISHED, pageable);
         if (articles.isEmpty()) {
             log.warn("No published articles found for author with googleId: {}", googleId);
         }
-        return articles.map(this::convertToDTO);
+        return articles;
     }
 
     /**
@@ -394,45 +509,29 @@ public class ArticleService {
      */
     public ArticleDTO getPublishedArticleById(Integer articleId, String googleId) {
         log.info("Fetching published article with id: {}", articleId);
-        Article article = articleRepository.findById(articleId)
-                .orElse(null);
+        ArticleDTO cached = articleCacheService.get(articleId, () -> articleRepository.findById(articleId)
+                .filter(article -> article.getStatus() == ArticleStatus.PUBLISHED)
+                .map(this::toCachedDTO)
+                .orElse(null));
 
-        if (article == null || article.getStatus() != ArticleStatus.PUBLISHED) {
+        if (cached == null) {
             log.warn("Article not found or not published: {}", articleId);
             return null;
         }
 
-        // Ghi lịch sử đọc nếu có thông tin người dùng
-        if (googleId != null) {
-            try {
-                User user = userService.findByGoogleId(googleId);
-                if (user != null) {
-                    ReadingHistory history = new ReadingHistory();
-                    history.setUser(user);
-                    history.setArticle(article);
-                    history.setViewedAt(LocalDateTime.now());
-                    readingHistoryRepository.save(history);
-                    log.debug("Reading history saved for user: {} and article: {}", googleId, articleId);
-                }
-            } catch (Exception e) {
-                log.error("Error saving reading history: {}", e.getMessage(), e);
-                // Không ném exception để không làm gián đoạn việc đọc bài viết
-            }
-        }
-
-        return convertToDTO(article);
+        recordView(articleId, googleId, true);
+        return withCurrentViews(cached);
     }
 
     /**
-     * Lấy tất cả bài viết không phân biệt trạng thái và chuyển đổi thành DTO
+     * Lấy tất cả bài viết không phân biệt trạng thái dưới dạng tóm tắt
      * 
      * @param pageable Thông tin phân trang
-     * @return Danh sách bài viết dạng DTO với phân trang
+     * @return Danh sách bài viết dạng ArticleSummaryDTO với phân trang
      */
-    public Page<ArticleDTO> findAllArticlesAsDTO(Pageable pageable) {
+    public Page<ArticleSummaryDTO> findAllArticleSummaries(Pageable pageable) {
         log.info("Fetching all articles with pageable: {}", pageable);
-        Page<Article> articles = articleRepository.findAll(pageable);
-        return articles.map(this::convertToDTO);
+        return articleRepository.findSummaries(null, pageable);
     }
 
     @Transactional
@@ -442,18 +541,110 @@ public class ArticleService {
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
 
+        ArticleStatus oldStatus = article.getStatus();
         article.setStatus(status);
-        return articleRepository.save(article);
+        Article saved = articleRepository.save(article);
+        statsCounterService.articleChanged(oldStatus, categoryIdOf(saved), saved.getStatus(), categoryIdOf(saved));
+        articleCacheService.evict(articleId);
+        feedCacheService.articleChanged(oldStatus, categoryIdOf(saved), saved.getStatus(), categoryIdOf(saved));
+        hotScoreService.articleChanged(articleId, saved.getStatus());
+        searchIndexService.articleChanged(saved);
+        autocompleteService.articleChanged(saved);
+        return saved;
     }
 
-    public Page<Article> getLatestArticles(Pageable pageable) {
+    private UserIdentity requireUser(String googleId) {
+        UserIdentity user = userIdentityService.get(googleId);
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
+        return user;
+    }
+
+    private Integer categoryIdOf(Article article) {
+        return article.getCategory() != null ? article.getCategory().getCategoryId() : null;
+    }
+
+    public Page<ArticleSummaryDTO> getLatestArticles(Pageable pageable) {
         log.info("Getting latest articles");
-        return articleRepository.findLatestArticles(ArticleStatus.PUBLISHED, pageable);
+        return getFeed(Feed.LATEST, null, pageable,
+                () -> articleRepository.findLatestSummaries(ArticleStatus.PUBLISHED, pageable));
     }
 
-    public Page<Article> getHotArticles(Pageable pageable) {
+    /**
+     * Lấy bài viết nổi bật theo điểm tính sẵn của HotScoreService (bình luận và
+     * lượt xem trong các ngày gần nhất)
+     */
+    public Page<ArticleSummaryDTO> getHotArticles(Pageable pageable) {
         log.info("Getting hot articles");
-        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
-        return articleRepository.findHotArticles(ArticleStatus.PUBLISHED, startDate, pageable);
+        FeedSlice slice = hotScoreService.getPage(pageable);
+        return new PageImpl<>(hydrate(slice.getArticleIds()), pageable, slice.getTotal());
+    }
+
+    /**
+     * Lấy feed bằng phân trang keyset theo (createdAt, articleId), riêng LATEST
+     * theo (updatedAt, articleId). Trang sau chỉ đọc tiếp từ vị trí cursor nên
+     * không chậm dần như OFFSET, và không cần truy vấn COUNT trừ khi client yêu
+     * cầu.
+     *
+     * @param feed       Loại feed (HOME, CATEGORY, LATEST)
+     * @param categoryId ID danh mục, chỉ dùng cho CATEGORY
+     * @param cursor     Cursor của trang trước, null để lấy trang đầu
+     * @param size       Số bài viết mỗi trang (tối đa feeds.cursor.max-size)
+     * @param withTotal  true để đếm tổng số bài viết của feed
+     */
+    public CursorPage<ArticleSummaryDTO> getFeedByCursor(Feed feed, Integer categoryId, String cursor, int size,
+            boolean withTotal) {
+        int limit = Math.max(1, Math.min(size, maxCursorSize));
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+        log.info("Fetching {} feed by cursor (categoryId={}, after={}, size={})", feed, categoryId,
+                after != null ? after.getArticleId() : null, limit);
+
+        // Lấy thừa một bài để biết còn trang sau hay không
+        Pageable window = PageRequest.of(0, limit + 1);
+        ArticleStatus status = ArticleStatus.PUBLISHED;
+        List<ArticleSummaryDTO> rows = switch (feed) {
+            case HOME -> after == null
+                    ? articleRepository.findSummariesByStatusSeek(status, window)
+                    : articleRepository.findSummariesByStatusAfter(status, after.getSortValue(),
+                            after.getArticleId(), window);
+            case CATEGORY -> findCategorySubtreeSeek(categoryId, status, after, window);
+            case LATEST -> after == null
+                    ? articleRepository.findLatestSummariesSeek(status, window)
+                    : articleRepository.findLatestSummariesAfter(status, after.getSortValue(),
+                            after.getArticleId(), window);
+        };
+
+        boolean hasNext = rows.size() > limit;
+        List<ArticleSummaryDTO> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            ArticleSummaryDTO last = content.get(content.size() - 1);
+            LocalDateTime sortValue = feed == Feed.LATEST ? last.getUpdatedAt() : last.getCreatedAt();
+            nextCursor = new FeedCursor(sortValue, last.getArticleId()).encode();
+        }
+
+        Long total = null;
+        if (withTotal) {
+            total = feed == Feed.CATEGORY
+                    ? articleRepository.countByCategoryAndStatus(categoryId, status)
+                    : articleRepository.countByStatus(status);
+        }
+        return new CursorPage<>(new ArrayList<>(content), nextCursor, hasNext, total);
+    }
+
+    /**
+     * Feed cursor của danh mục và các danh mục con: lấy cây con từ snapshot
+     * danh mục (không truy vấn) rồi đọc bằng một câu UNION ALL, mỗi nhánh seek
+     * trên một danh mục nên không filesort cả cây con
+     */
+    private List<ArticleSummaryDTO> findCategorySubtreeSeek(Integer categoryId, ArticleStatus status,
+            FeedCursor after, Pageable window) {
+        Set<Integer> ids = categoryTreeService.snapshot().descendantIds(categoryId);
+        // Danh mục vừa tạo trên instance khác có thể chưa có trong snapshot
+        Collection<Integer> categoryIds = ids.isEmpty() ? List.of(categoryId) : new TreeSet<>(ids);
+        return articleRepository.findSummariesByCategoriesSeek(categoryIds, status,
+                after != null ? after.getSortValue() : null, after != null ? after.getArticleId() : null,
+                window.getPageSize());
     }
 }
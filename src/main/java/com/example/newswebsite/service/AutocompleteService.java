@@ -0,0 +1,325 @@
+package com.example.newswebsite.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.domain.Tag;
+import com.example.newswebsite.domain.response.AutocompleteSuggestionDTO;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.repository.TagRepository;
+import com.example.newswebsite.util.ArticleStatus;
+import com.example.newswebsite.util.ReplayingRebuilder;
+import com.example.newswebsite.util.VietnameseTokenizer;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gợi ý tìm kiếm theo tiền tố từ tiêu đề bài viết đã xuất bản và tên tag. Dữ
+ * liệu nằm trong cây radix (trie nén), mỗi nút giữ sẵn top-K gợi ý có lượt xem
+ * cao nhất nên truy vấn chỉ cần đi theo tiền tố.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+
+    public static final String TYPE_ARTICLE = "ARTICLE";
+    public static final String TYPE_TAG = "TAG";
+
+    private final ArticleRepository articleRepository;
+    private final TagRepository tagRepository;
+
+    @Value("${autocomplete.max-limit:10}")
+    private int maxLimit;
+
+    // Chỉ đánh chỉ mục tiêu đề bắt đầu từ N từ đầu tiên, mỗi khóa tối đa M ký tự
+    @Value("${autocomplete.max-words:8}")
+    private int maxWords;
+
+    @Value("${autocomplete.max-key-length:40}")
+    private int maxKeyLength;
+
+    @Value("${autocomplete.batch-size:1000}")
+    private int batchSize;
+
+    @AllArgsConstructor
+    private static class Suggestion {
+        private final String key;
+        private final String type;
+        private final Integer id;
+        private final String text;
+        private final long score;
+    }
+
+    private static class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private String label;
+        // Sắp xếp theo ký tự đầu của label
+        private Node[] children = NO_CHILDREN;
+        // Sắp xếp theo điểm giảm dần
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Cây radix và phiên bản mới nhất của từng gợi ý. Gợi ý cũ (tiêu đề đã đổi,
+     * bài đã gỡ) vẫn còn trong cây nhưng bị bỏ qua khi truy vấn.
+     */
+    private static class Trie {
+        private final Node root = new Node("");
+        private final Map<String, Suggestion> current = new HashMap<>();
+    }
+
+    private final ReplayingRebuilder<Trie> trie = new ReplayingRebuilder<>("autocomplete trie", new Trie());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread builder = new Thread(this::rebuild, "autocomplete-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Lấy tối đa limit gợi ý cho tiền tố (không phân biệt dấu, hoa thường)
+     */
+    public List<AutocompleteSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, maxLimit));
+        return trie.read(current -> {
+            List<AutocompleteSuggestionDTO> result = new ArrayList<>(size);
+            for (Suggestion suggestion : find(current.root, key)) {
+                if (current.current.get(suggestion.key) == suggestion) {
+                    result.add(new AutocompleteSuggestionDTO(suggestion.type, suggestion.id, suggestion.text,
+                            suggestion.score));
+                    if (result.size() == size) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        });
+    }
+
+    public void articleChanged(Article article) {
+        if (article.getStatus() == ArticleStatus.PUBLISHED) {
+            Suggestion suggestion = new Suggestion(TYPE_ARTICLE + ":" + article.getArticleId(), TYPE_ARTICLE,
+                    article.getArticleId(), article.getTitle(), article.getViewCount());
+            trie.apply(current -> add(current, suggestion));
+        } else {
+            articleDeleted(article.getArticleId());
+        }
+    }
+
+    public void articleDeleted(Integer articleId) {
+        trie.apply(current -> current.current.remove(TYPE_ARTICLE + ":" + articleId));
+    }
+
+    public void tagCreated(Tag tag) {
+        Suggestion suggestion = new Suggestion(TYPE_TAG + ":" + tag.getTagId(), TYPE_TAG, tag.getTagId(),
+                tag.getName(), 0);
+        trie.apply(current -> add(current, suggestion));
+    }
+
+    public void tagDeleted(Integer tagId) {
+        trie.apply(current -> current.current.remove(TYPE_TAG + ":" + tagId));
+    }
+
+    /**
+     * Dựng lại toàn bộ cây từ DB để cập nhật trọng số theo lượt xem và dọn các gợi
+     * ý cũ
+     */
+    @Scheduled(fixedDelayString = "${autocomplete.rebuild-interval-ms:600000}", initialDelayString = "${autocomplete.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Trie built = trie.rebuild(() -> {
+            Trie fresh = new Trie();
+            Integer afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = articleRepository.findTitlesWithViewCounts(ArticleStatus.PUBLISHED, afterId,
+                        PageRequest.of(0, batchSize));
+                for (Object[] row : rows) {
+                    Integer articleId = (Integer) row[0];
+                    add(fresh, new Suggestion(TYPE_ARTICLE + ":" + articleId, TYPE_ARTICLE, articleId,
+                            (String) row[1], ((Number) row[2]).longValue()));
+                    afterId = articleId;
+                }
+            } while (rows.size() == batchSize);
+            for (Object[] row : tagRepository.findNamesWithViewCounts(ArticleStatus.PUBLISHED)) {
+                Integer tagId = (Integer) row[0];
+                add(fresh, new Suggestion(TYPE_TAG + ":" + tagId, TYPE_TAG, tagId, (String) row[1],
+                        ((Number) row[2]).longValue()));
+            }
+            return fresh;
+        });
+        if (built != null) {
+            log.info("Autocomplete trie built with {} suggestions in {} ms", built.current.size(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Lần dựng lúc khởi động lỗi thì thử lại sớm, không chờ lần dựng định kỳ
+     */
+    @Scheduled(fixedDelayString = "${autocomplete.retry-interval-ms:60000}", initialDelayString = "${autocomplete.retry-interval-ms:60000}")
+    public void retryIfNotReady() {
+        if (!trie.isReady() && !trie.isRebuilding()) {
+            log.info("Autocomplete trie is not ready, retrying build");
+            rebuild();
+        }
+    }
+
+    /**
+     * Thêm gợi ý với khóa là phần văn bản bắt đầu từ mỗi từ, để gõ từ ở giữa tiêu
+     * đề cũng tìm được
+     */
+    private void add(Trie trie, Suggestion suggestion) {
+        if (suggestion.text == null) {
+            return;
+        }
+        trie.current.put(suggestion.key, suggestion);
+        String text = normalize(suggestion.text);
+        int words = 0;
+        for (int start = 0; start < text.length() && words < maxWords; start++) {
+            if (start == 0 || text.charAt(start - 1) == ' ') {
+                insert(trie.root, text.substring(start, Math.min(text.length(), start + maxKeyLength)), suggestion);
+                words++;
+            }
+        }
+    }
+
+    private void insert(Node root, String key, Suggestion suggestion) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = childIndex(node, key.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(pos));
+                offer(leaf, suggestion);
+                addChild(node, leaf);
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length()) {
+                // Tách cạnh: nút trung gian có cùng top-K với nút con
+                Node middle = new Node(child.label.substring(0, common));
+                middle.top = child.top.clone();
+                middle.children = new Node[] { child };
+                child.label = child.label.substring(common);
+                node.children[index] = middle;
+                child = middle;
+            }
+            offer(child, suggestion);
+            pos += common;
+            node = child;
+        }
+    }
+
+    private Suggestion[] find(Node root, String prefix) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(pos));
+            if (index < 0) {
+                return Node.NO_SUGGESTIONS;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, pos);
+            if (pos + common == prefix.length()) {
+                return child.top;
+            }
+            if (common < child.label.length()) {
+                return Node.NO_SUGGESTIONS;
+            }
+            pos += common;
+            node = child;
+        }
+        return node.top;
+    }
+
+    /**
+     * Cập nhật top-K của nút, thay phiên bản cũ của cùng gợi ý nếu có. Giữ gấp đôi
+     * giới hạn để còn đủ kết quả khi một số gợi ý đã bị gỡ.
+     */
+    private void offer(Node node, Suggestion suggestion) {
+        int capacity = maxLimit * 2;
+        List<Suggestion> top = new ArrayList<>(node.top.length + 1);
+        for (Suggestion existing : node.top) {
+            if (!existing.key.equals(suggestion.key)) {
+                top.add(existing);
+            }
+        }
+        int insertAt = 0;
+        while (insertAt < top.size() && top.get(insertAt).score >= suggestion.score) {
+            insertAt++;
+        }
+        if (insertAt >= capacity) {
+            return;
+        }
+        top.add(insertAt, suggestion);
+        node.top = top.subList(0, Math.min(top.size(), capacity)).toArray(Node.NO_SUGGESTIONS);
+    }
+
+    private static int childIndex(Node node, char c) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = node.children[mid].label.charAt(0);
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static void addChild(Node node, Node child) {
+        Node[] children = Arrays.copyOf(node.children, node.children.length + 1);
+        int i = children.length - 1;
+        while (i > 0 && children[i - 1].label.charAt(0) > child.label.charAt(0)) {
+            children[i] = children[i - 1];
+            i--;
+        }
+        children[i] = child;
+        node.children = children;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", VietnameseTokenizer.tokenize(text));
+    }
+}
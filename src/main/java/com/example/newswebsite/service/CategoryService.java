@@ -1,13 +1,15 @@
 package com.example.newswebsite.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.newswebsite.domain.Category;
+import com.example.newswebsite.domain.CategoryClosureId;
 import com.example.newswebsite.domain.request.CategoryRequest;
-import com.example.newswebsite.domain.response.CategoryTreeDTO;
+import com.example.newswebsite.repository.CategoryClosureRepository;
 import com.example.newswebsite.repository.CategoryRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ArticleCacheService articleCacheService;
+    private final CategoryTreeService categoryTreeService;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final FeedCacheService feedCacheService;
 
     public Category findById(Integer id) throws Exception {
         return categoryRepository.findById(id).orElseThrow(() -> new Exception("Not found category: " + id));
@@ -27,17 +33,51 @@ public class CategoryService {
         return categoryRepository.findByParentIsNull();
     }
 
+    /**
+     * Lưu danh mục và cập nhật bảng category_closure theo danh mục cha mới
+     */
+    @Transactional
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Integer parentId = category.getParent() != null ? category.getParent().getCategoryId() : null;
+        if (category.getCategoryId() != null && parentId != null
+                && categoryClosureRepository.existsById(new CategoryClosureId(category.getCategoryId(), parentId))) {
+            throw new IllegalArgumentException("Không thể đặt danh mục con làm danh mục cha");
+        }
+
+        Category saved = categoryRepository.saveAndFlush(category);
+        syncClosure(saved.getCategoryId(), parentId);
+        categoryTreeService.categoriesChanged();
+        return saved;
     }
 
+    private void syncClosure(Integer categoryId, Integer parentId) {
+        if (!categoryClosureRepository.existsById(new CategoryClosureId(categoryId, categoryId))) {
+            categoryClosureRepository.insertNode(categoryId, parentId);
+            return;
+        }
+        List<Integer> currentParents = categoryClosureRepository.findParentIds(categoryId);
+        Integer currentParentId = currentParents.isEmpty() ? null : currentParents.get(0);
+        if (Objects.equals(currentParentId, parentId)) {
+            return;
+        }
+        // Đổi danh mục cha: chuyển cả cây con sang tổ tiên mới
+        categoryClosureRepository.detachSubtree(categoryId);
+        if (parentId != null) {
+            categoryClosureRepository.attachSubtree(categoryId, parentId);
+        }
+        // Feed của danh mục cha cũ và mới chứa bài viết của cả cây con
+        feedCacheService.clear();
+        log.info("Moved category {} from parent {} to {}", categoryId, currentParentId, parentId);
+    }
+
+    @Transactional
     public Category getOrCreateCategoryByName(String name) {
         return categoryRepository.findByName(name)
                 .orElseGet(() -> {
                     Category category = new Category();
                     category.setName(name);
                     category.setDescription("");
-                    return categoryRepository.save(category);
+                    return saveCategory(category);
                 });
     }
 
@@ -52,57 +92,6 @@ public class CategoryService {
         return categoryRepository.findByParentCategoryId(parentId);
     }
 
-    /**
-     * Lấy cấu trúc cây đầy đủ của tất cả danh mục
-     * 
-     * @return Danh sách các danh mục dạng cây (chỉ 2 cấp: cha và con)
-     */
-    public List<CategoryTreeDTO> getCategoryTree() {
-        log.info("Getting complete category tree");
-        List<Category> parentCategories = findByParentIsNull();
-
-        return parentCategories.stream()
-                .map(this::convertToCategoryTreeDTO)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Chuyển đổi Category thành CategoryTreeDTO
-     * 
-     * @param category Đối tượng Category
-     * @return CategoryTreeDTO với thông tin về danh mục con
-     */
-    private CategoryTreeDTO convertToCategoryTreeDTO(Category category) {
-        CategoryTreeDTO dto = new CategoryTreeDTO();
-        dto.setCategoryId(category.getCategoryId());
-        dto.setName(category.getName());
-        dto.setDescription(category.getDescription());
-        dto.setParentId(category.getParent() != null ? category.getParent().getCategoryId() : null);
-
-        // Lấy danh mục con nếu là danh mục cha
-        if (category.getParent() == null) {
-            List<Category> childCategories = findChildCategories(category.getCategoryId());
-            List<CategoryTreeDTO> childDtos = childCategories.stream()
-                    .map(child -> {
-                        CategoryTreeDTO childDto = new CategoryTreeDTO();
-                        childDto.setCategoryId(child.getCategoryId());
-                        childDto.setName(child.getName());
-                        childDto.setDescription(child.getDescription());
-                        childDto.setParentId(category.getCategoryId());
-                        // Danh mục con không có danh mục con của nó (giới hạn 2 cấp)
-                        childDto.setSubcategories(List.of());
-                        return childDto;
-                    })
-                    .collect(Collectors.toList());
-
-            dto.setSubcategories(childDtos);
-        } else {
-            dto.setSubcategories(List.of());
-        }
-
-        return dto;
-    }
-
     /**
      * Tạo danh mục cha mới (không có parent)
      * 
@@ -110,6 +99,7 @@ public class CategoryService {
      * @param description Mô tả danh mục
      * @return Danh mục cha đã được tạo
      */
+    @Transactional
     public Category createParentCategory(String name, String description) {
         log.info("Creating parent category with name: {}", name);
 
@@ -118,7 +108,7 @@ public class CategoryService {
         category.setDescription(description != null ? description : "");
         category.setParent(null);
 
-        return categoryRepository.save(category);
+        return saveCategory(category);
     }
 
     /**
@@ -130,6 +120,7 @@ public class CategoryService {
      * @return Danh mục con đã được tạo
      * @throws Exception Nếu không tìm thấy danh mục cha
      */
+    @Transactional
     public Category createChildCategory(String name, String description, Integer parentId) throws Exception {
         log.info("Creating child category with name: {} and parentId: {}", name, parentId);
 
@@ -142,7 +133,7 @@ public class CategoryService {
         childCategory.setDescription(description != null ? description : "");
         childCategory.setParent(parent);
 
-        return categoryRepository.save(childCategory);
+        return saveCategory(childCategory);
     }
 
     /**
@@ -151,6 +142,7 @@ public class CategoryService {
      * @param categoryId ID của danh mục cần xóa
      * @throws Exception Nếu danh mục không tồn tại hoặc không thể xóa
      */
+    @Transactional
     public void deleteCategory(Integer categoryId) throws Exception {
         log.info("Deleting category with ID: {}", categoryId);
 
@@ -165,6 +157,8 @@ public class CategoryService {
 
         // Xóa danh mục
         categoryRepository.delete(category);
+        categoryTreeService.categoriesChanged();
+        articleCacheService.clear();
     }
 
     /**
@@ -175,6 +169,7 @@ public class CategoryService {
      * @return Danh mục đã được cập nhật
      * @throws Exception Nếu danh mục không tồn tại
      */
+    @Transactional
     public Category updateCategory(Integer categoryId, CategoryRequest request) throws Exception {
         log.info("Updating category with ID: {} - Name: {}", categoryId, request.getName());
 
@@ -205,9 +200,8 @@ public class CategoryService {
                     throw new Exception("Không thể đặt danh mục làm cha của chính nó");
                 }
 
-                // Kiểm tra xem danh mục cha mới có phải là con của danh mục hiện tại không
-                List<Category> childCategories = findChildCategories(categoryId);
-                if (childCategories.stream().anyMatch(child -> child.getCategoryId().equals(request.getParentId()))) {
+                // Kiểm tra xem danh mục cha mới có nằm trong cây con của danh mục hiện tại không
+                if (categoryClosureRepository.existsById(new CategoryClosureId(categoryId, request.getParentId()))) {
                     throw new Exception("Không thể đặt danh mục con làm danh mục cha");
                 }
 
@@ -215,6 +209,9 @@ public class CategoryService {
             }
         }
 
-        return categoryRepository.save(category);
+        Category saved = saveCategory(category);
+        // Tên, mô tả, danh mục cha nằm trong ArticleDTO đã cache
+        articleCacheService.clear();
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,258 @@
+package com.example.newswebsite.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import com.example.newswebsite.domain.response.CategoryTreeDTO;
+import com.example.newswebsite.repository.CategoryRepository;
+import com.example.newswebsite.util.VietnameseTokenizer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ ảnh chụp (snapshot) bất biến của cây danh mục, dựng lại bằng một truy vấn
+ * mỗi khi danh mục thay đổi. Các API lấy cây danh mục đọc thẳng từ snapshot,
+ * không truy cập DB.
+ *
+ * Danh mục được sửa trên instance khác sẽ được nhận khi làm mới định kỳ
+ * (categories.tree.refresh-interval-ms).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot;
+    private long version;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Node {
+        private final Integer categoryId;
+        private final String name;
+        private final String description;
+        private final Integer parentId;
+        private final List<Integer> childIds;
+    }
+
+    /**
+     * Cây danh mục tại một phiên bản. Các List/Map/Set đều không sửa được; DTO
+     * trong cây được dùng chung giữa các request nên không được sửa.
+     */
+    @Getter
+    public static class Snapshot {
+        private final long version;
+        // ETag mạnh, tính từ nội dung nên giống nhau trên mọi instance
+        private final String eTag;
+        // Thời điểm dựng (epoch millis), dùng làm Last-Modified
+        private final long builtAt;
+        // Cây đầy đủ, mọi cấp
+        private final List<CategoryTreeDTO> tree;
+        // Danh mục gốc và con trực tiếp (cây 2 cấp của /api/categories/tree)
+        private final List<CategoryTreeDTO> twoLevelTree;
+        private final Map<Integer, Node> nodes;
+        private final Map<String, Integer> idsByName;
+        private final Map<Integer, Set<Integer>> descendantIds;
+
+        Snapshot(long version, String eTag, long builtAt, List<CategoryTreeDTO> tree, List<CategoryTreeDTO> twoLevelTree,
+                Map<Integer, Node> nodes, Map<String, Integer> idsByName, Map<Integer, Set<Integer>> descendantIds) {
+            this.version = version;
+            this.eTag = eTag;
+            this.builtAt = builtAt;
+            this.tree = tree;
+            this.twoLevelTree = twoLevelTree;
+            this.nodes = nodes;
+            this.idsByName = idsByName;
+            this.descendantIds = descendantIds;
+        }
+
+        public Node find(Integer categoryId) {
+            return categoryId != null ? nodes.get(categoryId) : null;
+        }
+
+        /**
+         * Tìm theo tên, không phân biệt dấu và hoa thường như collation của DB
+         */
+        public Node findByName(String name) {
+            if (name == null) {
+                return null;
+            }
+            Integer id = idsByName.get(VietnameseTokenizer.collationKey(name.trim()));
+            return id != null ? nodes.get(id) : null;
+        }
+
+        /**
+         * @return Id của danh mục và các danh mục tổ tiên, danh mục không có trong
+         *         snapshot thì chỉ gồm chính nó
+         */
+        public Set<Integer> ancestorIds(Integer categoryId) {
+            Set<Integer> ids = new HashSet<>();
+            Integer current = categoryId;
+            while (current != null && ids.add(current)) {
+                Node node = nodes.get(current);
+                current = node != null ? node.getParentId() : null;
+            }
+            return ids;
+        }
+
+        /**
+         * @return Id của danh mục và toàn bộ danh mục con cháu, rỗng nếu không tồn
+         *         tại
+         */
+        public Set<Integer> descendantIds(Integer categoryId) {
+            Set<Integer> ids = categoryId != null ? descendantIds.get(categoryId) : null;
+            return ids != null ? ids : Collections.emptySet();
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * Gọi sau mỗi thay đổi danh mục. Trong transaction thì dựng lại sau khi
+     * commit để không đọc dữ liệu chưa commit.
+     */
+    public void categoriesChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${categories.tree.refresh-interval-ms:300000}", initialDelayString = "${categories.tree.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Giữ snapshot cũ
+            log.warn("Failed to refresh category tree: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        List<Object[]> rows = categoryRepository.findAllForTree();
+        String eTag = eTag(rows);
+        Snapshot current = snapshot;
+        if (current != null && current.getETag().equals(eTag)) {
+            return current;
+        }
+
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        List<Integer> rootIds = new ArrayList<>();
+        for (Object[] row : rows) {
+            Integer id = (Integer) row[0];
+            Integer parentId = (Integer) row[3];
+            if (parentId == null) {
+                rootIds.add(id);
+            } else {
+                children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Map<Integer, Node> nodes = new HashMap<>();
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (Object[] row : rows) {
+            Integer id = (Integer) row[0];
+            String name = (String) row[1];
+            nodes.put(id, new Node(id, name, (String) row[2], (Integer) row[3],
+                    List.copyOf(children.getOrDefault(id, List.of()))));
+            if (name != null) {
+                idsByName.putIfAbsent(VietnameseTokenizer.collationKey(name.trim()), id);
+            }
+        }
+
+        Map<Integer, Set<Integer>> descendantIds = new HashMap<>();
+        for (Integer id : nodes.keySet()) {
+            descendantIds.put(id, Collections.unmodifiableSet(collectDescendants(id, nodes)));
+        }
+
+        List<CategoryTreeDTO> tree = new ArrayList<>();
+        List<CategoryTreeDTO> twoLevelTree = new ArrayList<>();
+        for (Integer rootId : rootIds) {
+            tree.add(toTreeDTO(nodes.get(rootId), nodes, new HashSet<>()));
+            Node root = nodes.get(rootId);
+            List<CategoryTreeDTO> childDtos = new ArrayList<>();
+            for (Integer childId : root.getChildIds()) {
+                childDtos.add(toDTO(nodes.get(childId), List.of()));
+            }
+            twoLevelTree.add(toDTO(root, List.copyOf(childDtos)));
+        }
+
+        Snapshot built = new Snapshot(++version, eTag, System.currentTimeMillis(), List.copyOf(tree), List.copyOf(twoLevelTree),
+                Collections.unmodifiableMap(nodes), Collections.unmodifiableMap(idsByName),
+                Collections.unmodifiableMap(descendantIds));
+        snapshot = built;
+        log.info("Built category tree snapshot v{} with {} categories", built.getVersion(), nodes.size());
+        return built;
+    }
+
+    private static Set<Integer> collectDescendants(Integer id, Map<Integer, Node> nodes) {
+        Set<Integer> result = new HashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(id);
+        // Tập visited chặn vòng lặp nếu dữ liệu cha con bị lỗi
+        while (!pending.isEmpty()) {
+            Integer current = pending.pop();
+            if (result.add(current)) {
+                Node node = nodes.get(current);
+                if (node != null) {
+                    node.getChildIds().forEach(pending::push);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static CategoryTreeDTO toTreeDTO(Node node, Map<Integer, Node> nodes, Set<Integer> path) {
+        List<CategoryTreeDTO> subcategories = new ArrayList<>();
+        path.add(node.getCategoryId());
+        for (Integer childId : node.getChildIds()) {
+            if (!path.contains(childId)) {
+                subcategories.add(toTreeDTO(nodes.get(childId), nodes, path));
+            }
+        }
+        path.remove(node.getCategoryId());
+        return toDTO(node, List.copyOf(subcategories));
+    }
+
+    private static CategoryTreeDTO toDTO(Node node, List<CategoryTreeDTO> subcategories) {
+        return new CategoryTreeDTO(node.getCategoryId(), node.getName(), node.getDescription(), node.getParentId(),
+                subcategories);
+    }
+
+    private static String eTag(List<Object[]> rows) {
+        StringBuilder content = new StringBuilder();
+        for (Object[] row : rows) {
+            content.append(row[0]).append('\u0001').append(row[1]).append('\u0001').append(row[2])
+                    .append('\u0001').append(row[3]).append('\u0002');
+        }
+        return '"' + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
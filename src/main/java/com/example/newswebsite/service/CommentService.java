@@ -2,33 +2,50 @@ package com.example.newswebsite.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.Comment;
-import com.example.newswebsite.domain.User;
+import com.example.newswebsite.domain.response.CommentThreadDTO;
 import com.example.newswebsite.repository.ArticleRepository;
 import com.example.newswebsite.repository.CommentRepository;
-import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.service.UserIdentityService.UserIdentity;
+import com.example.newswebsite.util.ArticleStatus;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CommentService {
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
-    private final UserRepository userService;
+    private final StatsCounterService statsCounterService;
+    private final HotScoreService hotScoreService;
+    private final UserIdentityService userIdentityService;
+
+    @Value("${comments.thread.max-depth:5}")
+    private int maxThreadDepth;
+
+    @Value("${comments.thread.max-replies:50}")
+    private int maxRepliesPerComment;
 
     public Comment addComment(Integer articleId, String content, Integer parentCommentId, String googleId) {
-        User author = userService.findByGoogleId(googleId);
+        UserIdentity author = userIdentityService.get(googleId);
         Article article = articleRepository.findById(articleId)
                 .orElseThrow(() -> new RuntimeException("Article not found"));
         Comment comment = new Comment();
         comment.setContent(content);
-        comment.setAuthor(author);
+        comment.setAuthor(author != null ? userIdentityService.getReference(author) : null);
         comment.setArticle(article);
         comment.setCreatedAt(LocalDateTime.now());
         if (comment.getReplies() == null) {
@@ -43,31 +60,117 @@ public class CommentService {
             }
             parent.getReplies().add(comment);
         }
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        statsCounterService.commentsAdded(saved.getCreatedAt(), 1);
+        if (article.getStatus() == ArticleStatus.PUBLISHED) {
+            hotScoreService.commentAdded(articleId);
+        }
+        return saved;
+    }
+
+    /**
+     * Lấy các luồng bình luận của bài viết. Toàn bộ bình luận được đọc bằng một
+     * truy vấn rồi ghép thành cây theo parentId trong bộ nhớ, nên số truy vấn
+     * không phụ thuộc vào số bình luận hay độ sâu của cây.
+     *
+     * @param articleId ID của bài viết
+     * @param pageable  Phân trang theo bình luận gốc
+     * @param depth     Số cấp trả lời tối đa được trả về (giới hạn bởi
+     *                  comments.thread.max-depth)
+     * @param replies   Số trả lời tối đa mỗi bình luận (giới hạn bởi
+     *                  comments.thread.max-replies)
+     */
+    public Page<CommentThreadDTO> getCommentThreads(Integer articleId, Pageable pageable, int depth, int replies) {
+        int maxDepth = Math.max(0, Math.min(depth, maxThreadDepth));
+        int maxReplies = Math.max(0, Math.min(replies, maxRepliesPerComment));
+        List<Object[]> rows = commentRepository.findThreadRowsByArticleId(articleId);
+
+        Map<Integer, CommentThreadDTO> byId = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            CommentThreadDTO dto = new CommentThreadDTO();
+            dto.setCommentId((Integer) row[0]);
+            dto.setParentId((Integer) row[1]);
+            dto.setContent((String) row[2]);
+            dto.setCreatedAt((LocalDateTime) row[3]);
+            dto.setAuthorName((String) row[4]);
+            dto.setAuthorGoogleId((String) row[5]);
+            dto.setAuthorAvatar((String) row[6]);
+            byId.put(dto.getCommentId(), dto);
+        }
+
+        // Ghép cây theo thứ tự của truy vấn nên trả lời trong mỗi nhánh đã được
+        // sắp xếp theo thời gian
+        List<CommentThreadDTO> roots = new ArrayList<>();
+        for (Object[] row : rows) {
+            CommentThreadDTO dto = byId.get((Integer) row[0]);
+            if (dto.getParentId() == null) {
+                roots.add(dto);
+                continue;
+            }
+            CommentThreadDTO parent = byId.get(dto.getParentId());
+            if (parent == null) {
+                log.debug("Skipping comment {} whose parent {} is missing", dto.getCommentId(), dto.getParentId());
+                continue;
+            }
+            parent.setReplyCount(parent.getReplyCount() + 1);
+            if (parent.getReplies().size() < maxReplies) {
+                parent.getReplies().add(dto);
+            }
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), roots.size());
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), roots.size()) : roots.size();
+        List<CommentThreadDTO> page = new ArrayList<>(roots.subList(from, to));
+        for (CommentThreadDTO root : page) {
+            trimDepth(root, maxDepth);
+        }
+        log.info("Loaded {} comments ({} threads) for article {}", rows.size(), roots.size(), articleId);
+        return new PageImpl<>(page, pageable, roots.size());
     }
 
-    public List<Comment> getCommentsByArticle(Integer articleId) {
-        return commentRepository.findByArticleArticleIdAndParentIsNull(articleId);
+    // Cắt các trả lời sâu hơn maxDepth cấp, replyCount vẫn giữ số trả lời thật
+    private void trimDepth(CommentThreadDTO comment, int remainingDepth) {
+        if (remainingDepth == 0) {
+            comment.setReplies(new ArrayList<>());
+            return;
+        }
+        for (CommentThreadDTO reply : comment.getReplies()) {
+            trimDepth(reply, remainingDepth - 1);
+        }
     }
 
     public void deleteComment(Integer commentId, String googleId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
-        User user = userService.findByGoogleId(googleId);
+        UserIdentity user = userIdentityService.get(googleId);
 
-        if (!comment.getAuthor().getGoogleId().equals(googleId) && !user.getRole().getRoleName().equals("admin")) {
+        if (!comment.getAuthor().getGoogleId().equals(googleId)
+                && (user == null || !"admin".equals(user.getRoleName()))) {
             throw new RuntimeException("Unauthorized: Only the comment author or admin can delete this comment");
         }
 
+        statsCounterService.commentDeleted(comment);
+        hotCommentRemoved(comment);
         commentRepository.delete(comment);
     }
 
+    // Trừ bình luận và các trả lời của nó khỏi điểm nổi bật
+    private void hotCommentRemoved(Comment comment) {
+        if (comment.getCreatedAt() != null) {
+            hotScoreService.commentRemoved(comment.getArticle().getArticleId(), comment.getCreatedAt().toLocalDate());
+        }
+        if (comment.getReplies() != null) {
+            comment.getReplies().forEach(this::hotCommentRemoved);
+        }
+    }
+
     public Comment editComment(Integer commentId, String newContent, String googleId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
-        User user = userService.findByGoogleId(googleId);
+        UserIdentity user = userIdentityService.get(googleId);
 
-        if (!comment.getAuthor().getGoogleId().equals(googleId) && !user.getRole().getRoleName().equals("admin")) {
+        if (!comment.getAuthor().getGoogleId().equals(googleId)
+                && (user == null || !"admin".equals(user.getRoleName()))) {
             throw new RuntimeException("Unauthorized: Only the comment author or admin can edit this comment");
         }
 
@@ -0,0 +1,167 @@
+package com.example.newswebsite.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.newswebsite.config.AppConfig;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Theo dõi phiên bản nội dung cho GET có điều kiện (ETag, Last-Modified).
+ * Feed, tag và thống kê dùng bộ đếm thay đổi toàn cục theo phạm vi; bài viết
+ * dùng updatedAt (ETag yếu vì lượt xem trong nội dung không làm đổi phiên
+ * bản). Controller so sánh If-None-Match với phiên bản hiện tại và trả 304
+ * trước khi truy cập DB.
+ *
+ * Bộ đếm nằm trong bộ nhớ nên ETag chứa mốc khởi động của instance, và đổi
+ * sau mỗi content-version.max-age-seconds để thay đổi trên instance khác
+ * (chỉ thấy sau khi cache cục bộ hết hạn) không bị 304 che mất.
+ */
+@Service
+public class ContentVersionService {
+
+    public enum Scope {
+        FEEDS,
+        TAGS,
+        STATS
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Version {
+        private final String eTag;
+        private final long lastModified;
+
+        /**
+         * Kiểm tra If-None-Match / If-Modified-Since của request
+         */
+        public boolean isNotModified(WebRequest request) {
+            return request.checkNotModified(eTag, lastModified);
+        }
+
+        public <T> ResponseEntity<T> notModified() {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified).build();
+        }
+
+        // no-cache: trình duyệt được lưu nhưng phải hỏi lại server trước khi dùng
+        public <T> ResponseEntity<T> ok(T body) {
+            return ResponseEntity.ok().eTag(eTag).lastModified(lastModified).cacheControl(CacheControl.noCache())
+                    .body(body);
+        }
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Scope, AtomicLong> versions = new EnumMap<>(Scope.class);
+    private final Map<Scope, AtomicLong> changedAt = new EnumMap<>(Scope.class);
+    // Tăng khi dữ liệu dùng chung trong ArticleDTO (danh mục, tag) đổi mà updatedAt không đổi
+    private final AtomicLong sharedVersion = new AtomicLong();
+    // articleId → updatedAt (epoch millis) của bài viết đã xuất bản vừa được đọc
+    private final Cache articleVersions;
+
+    @Value("${content-version.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    public ContentVersionService(CacheManager cacheManager) {
+        this.articleVersions = cacheManager.getCache(AppConfig.CACHE_ARTICLE_VERSIONS);
+        long now = System.currentTimeMillis();
+        for (Scope scope : Scope.values()) {
+            versions.put(scope, new AtomicLong());
+            changedAt.put(scope, new AtomicLong(now));
+        }
+    }
+
+    public Version current(Scope scope) {
+        long window = maxAgeSeconds * 1000;
+        long bucket = System.currentTimeMillis() / window;
+        String eTag = '"' + epoch + '-' + scope.name().toLowerCase() + '-' + versions.get(scope).get() + '-'
+                + bucket + '"';
+        // Last-Modified (theo giây) không sớm hơn đầu cửa sổ hiện tại, cùng lý do với ETag
+        return new Version(eTag, Math.max(changedAt.get(scope).get(), bucket * window));
+    }
+
+    /**
+     * Đánh dấu nội dung của phạm vi đã đổi. Trong transaction thì tăng thêm một
+     * lần sau khi commit để request đọc song song không giữ phiên bản cũ.
+     */
+    public void changed(Scope scope) {
+        bump(scope);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(scope);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return Phiên bản của bài viết, null nếu chưa biết (chưa đọc gần đây, chưa
+     *         xuất bản hoặc vừa bị sửa)
+     */
+    public Version article(Integer articleId) {
+        Long updatedAt = articleVersions.get(articleId, Long.class);
+        if (updatedAt == null) {
+            return null;
+        }
+        // ETag yếu: nội dung có viewCount thay đổi liên tục mà phiên bản không đổi
+        String eTag = "W/\"" + epoch + "-article-" + articleId + '-' + updatedAt + '-' + sharedVersion.get() + '"';
+        return new Version(eTag, updatedAt);
+    }
+
+    public void articleLoaded(Integer articleId, LocalDateTime updatedAt) {
+        if (updatedAt != null) {
+            articleVersions.put(articleId,
+                    updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Bài viết bị sửa hoặc xóa: bỏ phiên bản đã biết (gọi từ
+     * {@link ArticleCacheService#evict}, đã có xử lý sau commit ở đó)
+     */
+    public void articleChanged(Integer articleId) {
+        articleVersions.evict(articleId);
+        // Danh sách tag trả kèm các bài viết của từng tag
+        bump(Scope.TAGS);
+    }
+
+    /**
+     * Dữ liệu dùng chung của mọi bài viết đổi (gọi từ
+     * {@link ArticleCacheService#clear})
+     */
+    public void articlesCleared() {
+        articleVersions.clear();
+        sharedVersion.incrementAndGet();
+        changed(Scope.FEEDS);
+        changed(Scope.TAGS);
+    }
+
+    /**
+     * Phiên bản của cây danh mục: ETag theo nội dung của snapshot
+     */
+    public Version categoryTree(CategoryTreeService.Snapshot snapshot) {
+        return new Version(snapshot.getETag(), snapshot.getBuiltAt());
+    }
+
+    private void bump(Scope scope) {
+        versions.get(scope).incrementAndGet();
+        changedAt.get(scope).set(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.newswebsite.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.repository.CommentRepository;
+import com.example.newswebsite.repository.ReadingHistoryRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Export dữ liệu ra NDJSON hoặc CSV. Các dòng được đọc bằng Stream chỉ đi tới
+ * (MySQL streaming) và ghi thẳng ra output stream, không tạo List nên bộ nhớ
+ * không phụ thuộc số dòng.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final String[] ARTICLE_COLUMNS = { "articleId", "title", "summary", "content", "status",
+            "categoryId", "categoryName", "authorName", "thumbnailUrl", "viewCount", "createdAt", "updatedAt" };
+    private static final String[] COMMENT_COLUMNS = { "commentId", "articleId", "parentId", "authorGoogleId",
+            "authorName", "content", "createdAt" };
+    private static final String[] READING_HISTORY_COLUMNS = { "historyId", "userGoogleId", "articleId",
+            "viewedAt" };
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ReadingHistoryRepository readingHistoryRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportArticles(OutputStream out, Format format) throws IOException {
+        return export(out, format, ARTICLE_COLUMNS, articleRepository::streamAllForExport);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportComments(OutputStream out, Format format) throws IOException {
+        return export(out, format, COMMENT_COLUMNS, commentRepository::streamAllForExport);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportReadingHistory(OutputStream out, Format format) throws IOException {
+        return export(out, format, READING_HISTORY_COLUMNS, readingHistoryRepository::streamAllForExport);
+    }
+
+    private long export(OutputStream out, Format format, String[] columns, Supplier<Stream<Object[]>> query)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (Stream<Object[]> rows = query.get()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            if (format == Format.NDJSON) {
+                count = writeNdjson(out, columns, iterator);
+            } else {
+                count = writeCsv(out, columns, iterator);
+            }
+        }
+        log.info("Exported {} rows ({}) in {} ms", count, format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long writeNdjson(OutputStream out, String[] columns, Iterator<Object[]> rows) throws IOException {
+        long count = 0;
+        // Không đóng output stream của response, chỉ flush
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(OutputStream out, String[] columns, Iterator<Object[]> rows) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns);
+        while (rows.hasNext()) {
+            writeCsvLine(writer, rows.next());
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // Theo RFC 4180: bọc trong dấu nháy kép khi có dấu phẩy, nháy kép hoặc xuống dòng
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
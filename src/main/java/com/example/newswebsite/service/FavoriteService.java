@@ -1,21 +1,22 @@
 package com.example.newswebsite.service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.Favorite;
-import com.example.newswebsite.domain.User;
 import com.example.newswebsite.domain.request.FavoriteRequest;
 import com.example.newswebsite.domain.response.FavoriteSummaryDTO;
 import com.example.newswebsite.repository.ArticleRepository;
 import com.example.newswebsite.repository.FavoriteRepository;
-import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.service.UserIdentityService.UserIdentity;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,12 +27,13 @@ import lombok.extern.slf4j.Slf4j;
 public class FavoriteService {
 
     private final FavoriteRepository favoriteRepository;
-    private final UserRepository userRepository;
     private final ArticleRepository articleRepository;
+    private final StatsCounterService statsCounterService;
+    private final UserIdentityService userIdentityService;
 
     public Favorite saveFavorite(FavoriteRequest request) throws Exception {
         Favorite favorite = new Favorite();
-        User user = userRepository.findByGoogleId(request.getGoogleId()); // google id
+        UserIdentity user = userIdentityService.get(request.getGoogleId()); // google id
         Article article = articleRepository.findById(request.getArticleId())
                 .orElseThrow(() -> new Exception("Not found article"));
 
@@ -43,7 +45,7 @@ public class FavoriteService {
                 .findByArticleArticleIdAndUserGoogleId(request.getArticleId(), request.getGoogleId())
                 .orElse(null);
         if (check == null) {
-            favorite.setUser(user);
+            favorite.setUser(userIdentityService.getReference(user));
             favorite.setArticle(article);
             favorite.setActive(true);
             favorite.setFavoritedAt(LocalDateTime.now());
@@ -51,7 +53,9 @@ public class FavoriteService {
             check.setActive(!check.isActive());
             return favoriteRepository.save(check);
         }
-        return favoriteRepository.save(favorite);
+        Favorite saved = favoriteRepository.save(favorite);
+        statsCounterService.favoritesChanged(1);
+        return saved;
     }
 
     public Favorite toggleFavorite(Integer id) {
@@ -72,39 +76,21 @@ public class FavoriteService {
     }
 
     /**
-     * Lấy danh sách bài viết yêu thích của người dùng theo googleId
+     * Lấy danh sách bài viết yêu thích của người dùng theo googleId, mỗi trang một
+     * truy vấn dữ liệu và một truy vấn đếm
      * 
      * @param googleId ID Google của người dùng
-     * @return Danh sách DTO chứa thông tin bài viết yêu thích
+     * @param pageable Thông tin phân trang (thứ tự luôn là mới yêu thích nhất trước)
+     * @return Trang DTO chứa thông tin bài viết yêu thích
      */
-    public List<FavoriteSummaryDTO> getUserFavoritesByGoogleId(String googleId) {
+    public Page<FavoriteSummaryDTO> getUserFavoritesByGoogleId(String googleId, Pageable pageable) {
         log.info("Getting favorites for user with googleId: {}", googleId);
-
-        List<Favorite> favorites = favoriteRepository.findAllByUserGoogleIdWithDetails(googleId);
-        List<FavoriteSummaryDTO> result = new ArrayList<>();
-
-        for (Favorite favorite : favorites) {
-            try {
-                Article article = favorite.getArticle();
-                if (article != null) {
-                    FavoriteSummaryDTO dto = new FavoriteSummaryDTO();
-                    dto.setArticleId(article.getArticleId());
-                    dto.setTitle(article.getTitle());
-                    dto.setSummary(article.getSummary());
-                    dto.setThumbnailUrl(article.getThumbnailUrl());
-                    dto.setAuthorName(article.getAuthor() != null ? article.getAuthor().getName() : "");
-                    dto.setCategoryName(article.getCategory() != null ? article.getCategory().getName() : "");
-                    dto.setCategoryId(article.getCategory() != null ? article.getCategory().getCategoryId() : null);
-                    dto.setFavoritedAt(favorite.getFavoritedAt());
-
-                    result.add(dto);
-                }
-            } catch (Exception e) {
-                log.error("Error processing article ID {}: {}", favorite.getArticle().getArticleId(), e.getMessage());
-            }
+        UserIdentity user = userIdentityService.get(googleId);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (user == null) {
+            return Page.empty(page);
         }
-
-        return result;
+        return favoriteRepository.findSummariesByUserId(user.getUserId(), page);
     }
 
     /**
@@ -123,6 +109,7 @@ public class FavoriteService {
         Optional<Favorite> optionalFavorite = favoriteRepository.findByFavoriteIdAndUserGoogleId(id, googleId);
         if (optionalFavorite.isPresent()) {
             favoriteRepository.deleteById(id);
+            statsCounterService.favoritesChanged(-1);
             return true;
         }
         return false;
@@ -0,0 +1,138 @@
+package com.example.newswebsite.service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.newswebsite.config.AppConfig;
+import com.example.newswebsite.service.ContentVersionService.Scope;
+import com.example.newswebsite.util.ArticleStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache các trang đầu của feed (trang chủ, danh mục, mới nhất) dưới
+ * dạng mảng articleId và tổng số phần tử. Nội dung bài viết được lấy từ
+ * {@link ArticleCacheService} khi trả về.
+ */
+@Service
+@Slf4j
+public class FeedCacheService {
+
+    public enum Feed {
+        HOME,
+        CATEGORY,
+        LATEST
+    }
+
+    /**
+     * Khóa cache: (feed, danh mục, trang, kích thước trang, sắp xếp)
+     */
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class FeedKey {
+        private final Feed feed;
+        private final Integer categoryId;
+        private final int page;
+        private final int size;
+        private final String sort;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FeedSlice {
+        private final int[] articleIds;
+        private final long total;
+    }
+
+    private final Cache cache;
+    private final CategoryTreeService categoryTreeService;
+    private final ContentVersionService contentVersionService;
+
+    @Value("${feeds.cache.max-page:3}")
+    private int maxPage;
+
+    @Value("${feeds.cache.max-size:50}")
+    private int maxSize;
+
+    public FeedCacheService(CacheManager cacheManager, CategoryTreeService categoryTreeService,
+            ContentVersionService contentVersionService) {
+        this.cache = cacheManager.getCache(AppConfig.CACHE_FEEDS);
+        this.categoryTreeService = categoryTreeService;
+        this.contentVersionService = contentVersionService;
+    }
+
+    /**
+     * Chỉ cache vài trang đầu với kích thước trang hợp lý
+     */
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageNumber() < maxPage && pageable.getPageSize() <= maxSize;
+    }
+
+    public FeedKey key(Feed feed, Integer categoryId, Pageable pageable) {
+        return new FeedKey(feed, categoryId, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+    }
+
+    public FeedSlice get(FeedKey key) {
+        return cache.get(key, FeedSlice.class);
+    }
+
+    public void put(FeedKey key, FeedSlice slice) {
+        cache.put(key, slice);
+    }
+
+    /**
+     * Bỏ các trang feed bị ảnh hưởng khi một bài viết đổi trạng thái hoặc danh
+     * mục. Bài viết không ở trạng thái PUBLISHED cả trước và sau khi đổi thì
+     * không nằm trong feed nào nên không cần làm gì.
+     */
+    public void articleChanged(ArticleStatus oldStatus, Integer oldCategoryId, ArticleStatus newStatus,
+            Integer newCategoryId) {
+        if (oldStatus != ArticleStatus.PUBLISHED && newStatus != ArticleStatus.PUBLISHED) {
+            return;
+        }
+        invalidate(oldCategoryId, newCategoryId);
+        contentVersionService.changed(Scope.FEEDS);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(oldCategoryId, newCategoryId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+        contentVersionService.changed(Scope.FEEDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void invalidate(Integer oldCategoryId, Integer newCategoryId) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache
+                .getNativeCache();
+        // Feed danh mục gồm cả bài viết của danh mục con nên bỏ luôn feed của các tổ tiên
+        CategoryTreeService.Snapshot tree = categoryTreeService.snapshot();
+        Set<Integer> categoryIds = new HashSet<>();
+        categoryIds.addAll(tree.ancestorIds(oldCategoryId));
+        categoryIds.addAll(tree.ancestorIds(newCategoryId));
+        nativeCache.asMap().keySet().removeIf(key -> {
+            FeedKey feedKey = (FeedKey) key;
+            return feedKey.getFeed() != Feed.CATEGORY || categoryIds.contains(feedKey.getCategoryId());
+        });
+        log.debug("Invalidated feeds for categories {} and {}", oldCategoryId, newCategoryId);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.newswebsite.service;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache bộ khóa công khai (JWKS) của Google để xác minh ID token khi đăng nhập.
+ * Thời hạn cache theo Cache-Control max-age của Google, bộ khóa được làm mới
+ * nền trước khi hết hạn, và được tải lại ngay (có giới hạn tần suất) khi gặp
+ * kid chưa biết hoặc khi bộ khóa đã hết hạn. Mỗi kid giữ sẵn một
+ * RSASSAVerifier.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GoogleJwksService {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    @AllArgsConstructor
+    private static class KeySet {
+        private final Map<String, JWSVerifier> verifiers;
+        private final Instant expiresAt;
+    }
+
+    private final RestTemplate restTemplate;
+
+    @Value("${google.jwks.url:https://www.googleapis.com/oauth2/v3/certs}")
+    private String jwksUrl;
+
+    // Dùng khi phản hồi không có max-age
+    @Value("${google.jwks.default-max-age-seconds:3600}")
+    private long defaultMaxAgeSeconds;
+
+    @Value("${google.jwks.refresh-ahead-seconds:300}")
+    private long refreshAheadSeconds;
+
+    // Khoảng cách tối thiểu giữa hai lần tải lại ngoài lịch (gặp kid chưa biết,
+    // hoặc bộ khóa đã hết hạn mà lần tải trước lỗi)
+    @Value("${google.jwks.unknown-kid-refetch-interval-ms:60000}")
+    private long unknownKidRefetchIntervalMs;
+
+    private volatile KeySet keySet;
+    // Thời điểm bắt đầu lần tải gần nhất, thành công hay không
+    private volatile Instant lastAttemptAt = Instant.EPOCH;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(() -> refreshInBackground("startup"), "google-jwks-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Lấy verifier cho kid của ID token
+     *
+     * @return Verifier, hoặc null nếu Google không có khóa với kid này
+     */
+    public JWSVerifier getVerifier(String kid) {
+        KeySet current = keySet;
+        if (current == null || !current.expiresAt.isAfter(Instant.now())) {
+            current = refreshIfStale();
+        }
+        JWSVerifier verifier = current.verifiers.get(kid);
+        if (verifier != null) {
+            return verifier;
+        }
+        // Google vừa xoay khóa: tải lại, nhưng không quá một lần mỗi khoảng thời gian
+        current = refreshForUnknownKid(current);
+        return current.verifiers.get(kid);
+    }
+
+    /**
+     * Làm mới nền khi bộ khóa sắp hết hạn, hoặc chưa tải được lần nào (lần tải
+     * lúc khởi động lỗi), để request đăng nhập không phải chờ tải
+     */
+    @Scheduled(fixedDelayString = "${google.jwks.check-interval-ms:60000}")
+    public void refreshIfExpiring() {
+        KeySet current = keySet;
+        if (current == null) {
+            refreshInBackground("retry");
+        } else if (current.expiresAt.minusSeconds(refreshAheadSeconds).isBefore(Instant.now())) {
+            refreshInBackground("expiring");
+        }
+    }
+
+    private void refreshInBackground(String reason) {
+        try {
+            refresh(reason);
+        } catch (RuntimeException e) {
+            // Giữ bộ khóa cũ, lần kiểm tra sau sẽ thử lại
+            log.warn("Background JWKS refresh ({}) failed: {}", reason, e.getMessage());
+        }
+    }
+
+    private synchronized KeySet refreshIfStale() {
+        KeySet current = keySet;
+        if (current != null && current.expiresAt.isAfter(Instant.now())) {
+            return current;
+        }
+        if (recentlyAttempted()) {
+            // Google đang lỗi: không để mỗi request đăng nhập chờ một lần tải
+            if (current != null) {
+                return current;
+            }
+            throw new RuntimeException("Google JWKS is not available, retrying later");
+        }
+        try {
+            return refresh("expired");
+        } catch (RuntimeException e) {
+            if (current != null) {
+                log.warn("JWKS refresh failed, using expired key set: {}", e.getMessage());
+                return current;
+            }
+            throw e;
+        }
+    }
+
+    private synchronized KeySet refreshForUnknownKid(KeySet seen) {
+        KeySet current = keySet;
+        if (current != seen) {
+            // Luồng khác vừa tải lại
+            return current;
+        }
+        if (recentlyAttempted()) {
+            return current;
+        }
+        try {
+            return refresh("unknown kid");
+        } catch (RuntimeException e) {
+            log.warn("JWKS refetch for unknown kid failed: {}", e.getMessage());
+            return current;
+        }
+    }
+
+    private boolean recentlyAttempted() {
+        return Duration.between(lastAttemptAt, Instant.now()).toMillis() < unknownKidRefetchIntervalMs;
+    }
+
+    private synchronized KeySet refresh(String reason) {
+        lastAttemptAt = Instant.now();
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.getForEntity(jwksUrl, String.class);
+        } catch (RestClientException e) {
+            throw new RuntimeException("Failed to fetch JWKS from " + jwksUrl + ": " + e.getMessage(), e);
+        }
+
+        Map<String, JWSVerifier> verifiers = new HashMap<>();
+        try {
+            for (JWK jwk : JWKSet.parse(response.getBody()).getKeys()) {
+                if (jwk instanceof RSAKey rsaKey && jwk.getKeyID() != null) {
+                    verifiers.put(jwk.getKeyID(), new RSASSAVerifier(rsaKey.toRSAPublicKey()));
+                }
+            }
+        } catch (ParseException | JOSEException e) {
+            throw new RuntimeException("Invalid JWKS from " + jwksUrl + ": " + e.getMessage(), e);
+        }
+
+        Instant now = Instant.now();
+        KeySet refreshed = new KeySet(Collections.unmodifiableMap(verifiers),
+                now.plusSeconds(maxAge(response.getHeaders().getCacheControl())));
+        keySet = refreshed;
+        log.info("Loaded {} Google JWKS keys ({}), valid until {}", verifiers.size(), reason, refreshed.expiresAt);
+        return refreshed;
+    }
+
+    private long maxAge(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return defaultMaxAgeSeconds;
+    }
+}
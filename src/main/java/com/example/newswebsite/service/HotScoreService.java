@@ -0,0 +1,208 @@
+package com.example.newswebsite.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.newswebsite.repository.ArticleViewDailyRepository;
+import com.example.newswebsite.repository.CommentRepository;
+import com.example.newswebsite.service.FeedCacheService.FeedSlice;
+import com.example.newswebsite.util.ArticleStatus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tính điểm "nổi bật" của bài viết từ số bình luận và lượt xem trong các ngày
+ * gần nhất. Mỗi bài viết có một vòng đệm (ring buffer) theo ngày, điểm được
+ * giảm dần theo tuổi của ngày. Danh sách xếp hạng được sắp xếp lại định kỳ khi
+ * có hoạt động mới.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotScoreService {
+
+    private final CommentRepository commentRepository;
+    private final ArticleViewDailyRepository articleViewDailyRepository;
+
+    @Value("${hot.window-days:7}")
+    private int windowDays;
+
+    @Value("${hot.comment-weight:5.0}")
+    private double commentWeight;
+
+    @Value("${hot.view-weight:1.0}")
+    private double viewWeight;
+
+    @Value("${hot.decay:0.7}")
+    private double decay;
+
+    @Value("${hot.max-size:500}")
+    private int maxSize;
+
+    /**
+     * Số bình luận và lượt xem theo ngày của một bài viết. Ô thứ (epochDay %
+     * windowDays) giữ số liệu của ngày days[i], ô cũ được xóa khi dùng lại.
+     */
+    private static class ActivityWindow {
+        private final long[] days;
+        private final long[] comments;
+        private final long[] views;
+
+        ActivityWindow(int size) {
+            days = new long[size];
+            comments = new long[size];
+            views = new long[size];
+            Arrays.fill(days, Long.MIN_VALUE);
+        }
+
+        synchronized void add(long epochDay, long commentDelta, long viewDelta) {
+            int slot = (int) Math.floorMod(epochDay, (long) days.length);
+            if (days[slot] != epochDay) {
+                if (days[slot] > epochDay) {
+                    // Sự kiện quá cũ, ô đã thuộc về ngày mới hơn
+                    return;
+                }
+                days[slot] = epochDay;
+                comments[slot] = 0;
+                views[slot] = 0;
+            }
+            comments[slot] = Math.max(comments[slot] + commentDelta, 0);
+            views[slot] = Math.max(views[slot] + viewDelta, 0);
+        }
+
+        synchronized double score(long today, double commentWeight, double viewWeight, double decay) {
+            double score = 0;
+            for (int slot = 0; slot < days.length; slot++) {
+                long age = today - days[slot];
+                if (age >= 0 && age < days.length) {
+                    score += Math.pow(decay, age) * (commentWeight * comments[slot] + viewWeight * views[slot]);
+                }
+            }
+            return score;
+        }
+    }
+
+    private final Map<Integer, ActivityWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Danh sách articleId đã sắp xếp theo điểm giảm dần
+    private volatile int[] ranking = new int[0];
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDate since = LocalDate.now().minusDays(windowDays - 1L);
+        for (Object[] row : commentRepository.countGroupByArticleAndDay(ArticleStatus.PUBLISHED,
+                since.atStartOfDay())) {
+            window((Integer) row[0]).add(epochDay(row), ((Number) row[4]).longValue(), 0);
+        }
+        // Cùng nguồn với viewRecorded: mọi lượt xem, kể cả của khách chưa đăng nhập
+        for (Object[] row : articleViewDailyRepository.countGroupByArticleAndDay(ArticleStatus.PUBLISHED, since)) {
+            window((Integer) row[0]).add(epochDay(row), 0, ((Number) row[4]).longValue());
+        }
+        refresh();
+        log.info("Hot scores initialized for {} articles", windows.size());
+    }
+
+    public void commentAdded(Integer articleId) {
+        window(articleId).add(LocalDate.now().toEpochDay(), 1, 0);
+        dirty.set(true);
+    }
+
+    public void commentRemoved(Integer articleId, LocalDate createdAt) {
+        ActivityWindow window = windows.get(articleId);
+        if (window != null && createdAt != null) {
+            window.add(createdAt.toEpochDay(), -1, 0);
+            dirty.set(true);
+        }
+    }
+
+    public void viewRecorded(Integer articleId) {
+        window(articleId).add(LocalDate.now().toEpochDay(), 0, 1);
+        dirty.set(true);
+    }
+
+    /**
+     * Bài viết không còn xuất bản (hoặc đã bị xóa) thì bỏ khỏi xếp hạng
+     */
+    public void articleChanged(Integer articleId, ArticleStatus status) {
+        if (status != ArticleStatus.PUBLISHED && windows.remove(articleId) != null) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Lấy một trang của danh sách nổi bật (articleId và tổng số bài)
+     */
+    public FeedSlice getPage(Pageable pageable) {
+        int[] current = ranking;
+        if (pageable.isUnpaged()) {
+            return new FeedSlice(current, current.length);
+        }
+        int from = (int) Math.min(pageable.getOffset(), current.length);
+        int to = Math.min(from + pageable.getPageSize(), current.length);
+        return new FeedSlice(Arrays.copyOfRange(current, from, to), current.length);
+    }
+
+    /**
+     * Sắp xếp lại khi có hoạt động mới
+     */
+    @Scheduled(fixedDelayString = "${hot.refresh-interval-ms:10000}")
+    public void refreshIfDirty() {
+        if (dirty.getAndSet(false)) {
+            refresh();
+        }
+    }
+
+    /**
+     * Tính lại điểm và sắp xếp toàn bộ. Chạy mỗi giờ kể cả khi không có hoạt động
+     * để điểm giảm dần theo ngày.
+     */
+    @Scheduled(cron = "${hot.rollover-cron:0 0 * * * *}")
+    public void refresh() {
+        long today = LocalDate.now().toEpochDay();
+        List<double[]> scored = new ArrayList<>(windows.size());
+        windows.forEach((articleId, window) -> {
+            double score = window.score(today, commentWeight, viewWeight, decay);
+            if (score > 0) {
+                scored.add(new double[] { score, articleId });
+            } else {
+                // Không còn hoạt động trong cửa sổ thời gian
+                windows.remove(articleId, window);
+            }
+        });
+        scored.sort((a, b) -> Double.compare(b[0], a[0]));
+        int size = Math.min(scored.size(), maxSize);
+        int[] next = new int[size];
+        for (int i = 0; i < size; i++) {
+            next[i] = (int) scored.get(i)[1];
+        }
+        ranking = next;
+        log.debug("Refreshed hot ranking: {} articles", size);
+    }
+
+    private ActivityWindow window(Integer articleId) {
+        ActivityWindow window = windows.get(articleId);
+        if (window == null) {
+            window = windows.computeIfAbsent(articleId, id -> new ActivityWindow(windowDays));
+        }
+        return window;
+    }
+
+    private static long epochDay(Object[] row) {
+        return LocalDate.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue(), ((Number) row[3]).intValue())
+                .toEpochDay();
+    }
+}
@@ -1,32 +1,105 @@
 
 package com.example.newswebsite.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.core.oidc.OidcIdToken;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.ParseException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    /**
+     * Thông tin đã xác minh của một token nội bộ
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TokenClaims {
+        private final String subject;
+        // null với refresh token
+        private final String role;
+        private final Instant expiresAt;
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final GoogleJwksService googleJwksService;
+
     @Value("${jwt.secret}")
     private String secret;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    // Khóa và parser được tạo một lần, JwtParser của jjwt an toàn khi dùng đa
+    // luồng
+    private byte[] signingKey;
+    private JwtParser parser;
+
+    // Claims đã xác minh theo SHA-256 của token, mỗi mục hết hạn cùng lúc với
+    // token
+    private Cache<String, TokenClaims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Decoders.BASE64.decode(secret);
+        parser = io.jsonwebtoken.Jwts.parserBuilder().setSigningKey(signingKey).build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        long millis = claims.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
+    }
+
     private final long ACCESS_TOKEN_EXPIRY = 60 * 60 * 1000; // 1 giờ
     private final long REFRESH_TOKEN_EXPIRY = 7 * 24 * 60 * 60 * 1000; // 7 ngày
 
@@ -37,7 +110,7 @@ public class JwtService {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRY))
-                .signWith(io.jsonwebtoken.SignatureAlgorithm.HS512, secret)
+                .signWith(io.jsonwebtoken.SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
@@ -47,7 +120,7 @@ public class JwtService {
                 .setSubject(googleId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + REFRESH_TOKEN_EXPIRY))
-                .signWith(io.jsonwebtoken.SignatureAlgorithm.HS512, secret)
+                .signWith(io.jsonwebtoken.SignatureAlgorithm.HS512, signingKey)
                 .compact();
     }
 
@@ -56,16 +129,14 @@ public class JwtService {
             // Parse ID Token
             SignedJWT signedJWT = SignedJWT.parse(idToken);
 
-            // Tải JWK từ Google
-            JWKSet jwkSet = JWKSet.load(new URL("https://www.googleapis.com/oauth2/v3/certs"));
-            RSAKey rsaKey = (RSAKey) jwkSet.getKeyByKeyId(signedJWT.getHeader().getKeyID());
-            if (rsaKey == null) {
+            // Lấy verifier từ bộ khóa Google đã cache
+            JWSVerifier verifier = googleJwksService.getVerifier(signedJWT.getHeader().getKeyID());
+            if (verifier == null) {
                 throw new IllegalArgumentException(
                         "No matching public key found for kid: " + signedJWT.getHeader().getKeyID());
             }
 
             // Xác minh chữ ký
-            JWSVerifier verifier = new RSASSAVerifier(rsaKey.toRSAPublicKey());
             if (!signedJWT.verify(verifier)) {
                 throw new IllegalArgumentException("ID token signature verification failed");
             }
@@ -106,29 +177,60 @@ public class JwtService {
         }
     }
 
+    /**
+     * Xác minh token nội bộ (access token, refresh token) và lấy subject, role,
+     * thời điểm hết hạn. Chữ ký chỉ được kiểm tra ở lần đầu, các lần sau đọc từ
+     * cache cho tới khi token hết hạn.
+     *
+     * @throws io.jsonwebtoken.JwtException nếu token không hợp lệ hoặc đã hết hạn
+     */
+    public TokenClaims parseToken(String token) {
+        String key = hash(token);
+        TokenClaims cached = claimsCache.getIfPresent(key);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            // Token không có thời hạn thì không cache
+            return new TokenClaims(claims.getSubject(), claims.get("role", String.class), Instant.MAX);
+        }
+        TokenClaims verified = new TokenClaims(claims.getSubject(), claims.get("role", String.class),
+                claims.getExpiration().toInstant());
+        claimsCache.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Như parseToken nhưng trả về null thay vì ném lỗi khi token không hợp lệ
+     */
+    public TokenClaims verifyToken(String token) {
+        try {
+            return parseToken(token);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     // Xác minh token nội bộ (access token, refresh token)
     public String getGoogleIdFromToken(String token) {
-        io.jsonwebtoken.Claims claims = io.jsonwebtoken.Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parseToken(token).getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        io.jsonwebtoken.Claims claims = io.jsonwebtoken.Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("role", String.class);
+        return parseToken(token).getRole();
     }
 
     public boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
+
+    private static String hash(String token) {
         try {
-            io.jsonwebtoken.Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.newswebsite.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.example.newswebsite.domain.User;
+import com.example.newswebsite.domain.response.WebsiteStatsDTO.ActiveAuthor;
+import com.example.newswebsite.domain.response.WebsiteStatsDTO.PopularArticle;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.repository.ArticleViewDailyRepository;
+import com.example.newswebsite.repository.CommentRepository;
+import com.example.newswebsite.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Xếp hạng bài viết phổ biến và tác giả tích cực bằng truy vấn gom nhóm. Số
+ * truy vấn không phụ thuộc vào số bài viết hay số người dùng.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RankingService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final LocalDateTime ALL_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ArticleViewDailyRepository articleViewDailyRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Lấy top N bài viết có nhiều lượt xem nhất
+     *
+     * @param limit Số bài viết cần lấy (1 - 100)
+     * @param days  Số ngày gần nhất cần tính, null để tính toàn bộ thời gian
+     * @return Danh sách bài viết phổ biến, sắp xếp theo lượt xem giảm dần
+     */
+    public List<PopularArticle> getPopularArticles(int limit, Integer days) {
+        LocalDateTime since = since(days);
+        log.info("Ranking top {} articles since {}", limit, since);
+
+        // Toàn bộ thời gian: articles.view_count; theo khoảng: article_view_daily. Cả
+        // hai đều do ViewCounterService ghi nên gồm cả lượt xem của khách
+        List<Object[]> topViews = days == null || days <= 0
+                ? articleRepository.findTopByViewCount(PageRequest.of(0, clamp(limit)))
+                : articleViewDailyRepository.findTopArticlesByViews(since.toLocalDate(),
+                        PageRequest.of(0, clamp(limit)));
+        if (topViews.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> articleIds = topViews.stream().map(row -> (Integer) row[0]).collect(Collectors.toList());
+
+        Map<Integer, String> titles = toMap(articleRepository.findTitlesByIds(articleIds), row -> (String) row[1]);
+        Map<Integer, Long> commentCounts = toMap(commentRepository.countGroupByArticleIds(articleIds, since),
+                row -> ((Number) row[1]).longValue());
+
+        List<PopularArticle> result = new ArrayList<>(topViews.size());
+        for (Object[] row : topViews) {
+            Integer articleId = (Integer) row[0];
+            result.add(new PopularArticle(
+                    articleId,
+                    titles.get(articleId),
+                    ((Number) row[1]).longValue(),
+                    commentCounts.getOrDefault(articleId, 0L)));
+        }
+        return result;
+    }
+
+    /**
+     * Lấy top N tác giả có tổng lượt xem bài viết nhiều nhất
+     *
+     * @param limit Số tác giả cần lấy (1 - 100)
+     * @param days  Số ngày gần nhất cần tính, null để tính toàn bộ thời gian
+     * @return Danh sách tác giả tích cực, sắp xếp theo tổng lượt xem giảm dần
+     */
+    public List<ActiveAuthor> getActiveAuthors(int limit, Integer days) {
+        LocalDateTime since = since(days);
+        log.info("Ranking top {} authors since {}", limit, since);
+
+        List<Object[]> topViews = days == null || days <= 0
+                ? articleRepository.findTopAuthorsByViewCount(PageRequest.of(0, clamp(limit)))
+                : articleViewDailyRepository.findTopAuthorsByViews(since.toLocalDate(),
+                        PageRequest.of(0, clamp(limit)));
+        if (topViews.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> authorIds = topViews.stream().map(row -> (Integer) row[0]).collect(Collectors.toList());
+
+        Map<Integer, User> authors = userRepository.findByUserIdIn(authorIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Map<Integer, Long> articleCounts = toMap(articleRepository.countGroupByAuthorIds(authorIds),
+                row -> ((Number) row[1]).longValue());
+
+        List<ActiveAuthor> result = new ArrayList<>(topViews.size());
+        for (Object[] row : topViews) {
+            User author = authors.get((Integer) row[0]);
+            if (author == null) {
+                continue;
+            }
+            result.add(new ActiveAuthor(
+                    author.getGoogleId(),
+                    author.getName(),
+                    articleCounts.getOrDefault(author.getUserId(), 0L),
+                    ((Number) row[1]).longValue()));
+        }
+        return result;
+    }
+
+    private static LocalDateTime since(Integer days) {
+        return days != null && days > 0 ? LocalDateTime.now().minusDays(days) : ALL_TIME;
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static <V> Map<Integer, V> toMap(List<Object[]> rows, Function<Object[], V> valueMapper) {
+        Map<Integer, V> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put((Integer) row[0], valueMapper.apply(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.newswebsite.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gom các dòng reading_history cũ hơn reading-history.compaction.age-days thành
+ * một dòng mỗi (người dùng, bài viết, ngày) trong reading_history_daily để bảng
+ * reading_history không lớn mãi theo lưu lượng. Mỗi lô (theo khoảng
+ * history_id) chèn phần gom và xóa các dòng gốc trong cùng một transaction nên
+ * chạy lại hoặc chạy song song trên nhiều instance không đếm trùng. Bộ đếm
+ * thống kê theo tháng không đổi vì lượt xem chỉ chuyển bảng.
+ *
+ * Khi bảng đã được chia partition theo tháng (db/optional/
+ * reading_history_partitioning.sql) và bật reading-history.partitioning.enabled,
+ * job còn tạo trước partition cho các tháng tới và DROP các partition cũ đã
+ * rỗng để lấy lại dung lượng mà DELETE để lại.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingHistoryCompactionService {
+
+    private static final String RANGE_SQL = "SELECT MIN(history_id), MAX(history_id) FROM reading_history "
+            + "WHERE viewed_at < ?";
+
+    private static final String COMPACT_SQL = "INSERT INTO reading_history_daily "
+            + "(user_id, article_id, view_date, view_count, last_viewed_at) "
+            + "SELECT * FROM (SELECT user_id, article_id, DATE(viewed_at) AS view_date, COUNT(*) AS view_count, "
+            + "MAX(viewed_at) AS last_viewed_at FROM reading_history "
+            + "WHERE history_id >= ? AND history_id < ? AND viewed_at < ? "
+            + "AND user_id IS NOT NULL AND article_id IS NOT NULL "
+            + "GROUP BY user_id, article_id, DATE(viewed_at)) AS agg "
+            + "ON DUPLICATE KEY UPDATE view_count = reading_history_daily.view_count + agg.view_count, "
+            + "last_viewed_at = GREATEST(reading_history_daily.last_viewed_at, agg.last_viewed_at)";
+
+    private static final String DELETE_SQL = "DELETE FROM reading_history "
+            + "WHERE history_id >= ? AND history_id < ? AND viewed_at < ? "
+            + "AND user_id IS NOT NULL AND article_id IS NOT NULL";
+
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION "
+            + "FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reading_history' AND PARTITION_NAME IS NOT NULL "
+            + "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reading-history.compaction.enabled:true}")
+    private boolean enabled;
+
+    // Lượt xem mới hơn số ngày này giữ nguyên từng dòng
+    @Value("${reading-history.compaction.age-days:90}")
+    private int ageDays;
+
+    // Độ rộng khoảng history_id của mỗi lô
+    @Value("${reading-history.compaction.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${reading-history.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    @Value("${reading-history.partitioning.months-ahead:2}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${reading-history.compaction.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        // Cắt ở đầu ngày để mỗi ngày được gom trọn
+        LocalDateTime cutoff = LocalDate.now().minusDays(ageDays).atStartOfDay();
+        try {
+            compact(cutoff);
+            if (partitioningEnabled) {
+                maintainPartitions(cutoff);
+            }
+        } catch (DataAccessException e) {
+            // Các lô đã commit được giữ, lần chạy sau tiếp tục phần còn lại
+            log.error("Reading history compaction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Gom các lượt xem trước thời điểm cutoff
+     *
+     * @return Số dòng reading_history đã được gom và xóa
+     */
+    public long compact(LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        long[] range = jdbcTemplate.queryForObject(RANGE_SQL, (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[] { min, rs.getLong(2) };
+        }, before);
+        if (range == null) {
+            return 0;
+        }
+
+        long start = System.currentTimeMillis();
+        long removed = 0;
+        for (long from = range[0]; from <= range[1]; from += batchSize) {
+            long lower = from;
+            long upper = from + batchSize;
+            Integer deleted = transactionTemplate.execute(status -> {
+                jdbcTemplate.update(COMPACT_SQL, lower, upper, before);
+                return jdbcTemplate.update(DELETE_SQL, lower, upper, before);
+            });
+            removed += deleted != null ? deleted : 0;
+        }
+        log.info("Compacted {} reading history rows older than {} in {} ms", removed, cutoff,
+                System.currentTimeMillis() - start);
+        return removed;
+    }
+
+    /**
+     * Tạo partition cho các tháng tới (tách từ pmax) và bỏ các partition đã nằm
+     * trọn trước cutoff và không còn dòng nào
+     */
+    void maintainPartitions(LocalDateTime cutoff) {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL);
+        if (partitions.isEmpty()) {
+            log.warn("reading-history.partitioning.enabled is set but reading_history is not partitioned");
+            return;
+        }
+
+        LocalDateTime lastBound = null;
+        boolean hasMax = false;
+        for (Map<String, Object> partition : partitions) {
+            String name = (String) partition.get("PARTITION_NAME");
+            LocalDateTime bound = bound((String) partition.get("PARTITION_DESCRIPTION"));
+            if (bound == null) {
+                hasMax = MAX_PARTITION.equals(name);
+                continue;
+            }
+            lastBound = bound;
+            if (!bound.isAfter(cutoff) && isEmpty(name)) {
+                jdbcTemplate.execute("ALTER TABLE reading_history DROP PARTITION " + name);
+                log.info("Dropped reading history partition {} (before {})", name, bound);
+            }
+        }
+
+        if (!hasMax) {
+            log.warn("reading_history has no {} partition, cannot add partitions for upcoming months", MAX_PARTITION);
+            return;
+        }
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = YearMonth.now(); !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDateTime bound = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (lastBound != null && !bound.isAfter(lastBound)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE reading_history REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('"
+                    + bound.format(PARTITION_BOUND) + "'), "
+                    + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            lastBound = bound;
+            log.info("Added reading history partition {}", month.format(PARTITION_NAME));
+        }
+    }
+
+    private boolean isEmpty(String partition) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT 1 FROM reading_history PARTITION (" + partition + ") LIMIT 1", Integer.class);
+        if (!rows.isEmpty()) {
+            // Còn dòng không gom được (thiếu user hoặc bài viết)
+            log.warn("Reading history partition {} is past retention but not empty, keeping it", partition);
+        }
+        return rows.isEmpty();
+    }
+
+    // PARTITION_DESCRIPTION của RANGE COLUMNS có dạng '2026-10-01 00:00:00' hoặc MAXVALUE
+    private static LocalDateTime bound(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDateTime.parse(description.replace("'", "").trim().replace(' ', 'T'));
+    }
+}
@@ -0,0 +1,453 @@
+package com.example.newswebsite.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newswebsite.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ghi lịch sử đọc bất đồng bộ: lượt xem được đưa vào hàng đợi có giới hạn và
+ * được một luồng nền ghi xuống DB theo lô (mỗi N bản ghi hoặc T mili giây)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadingHistoryIngestService implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO reading_history (user_id, article_id, viewed_at) VALUES (?, ?, ?)";
+
+    /**
+     * Cách xử lý khi hàng đợi đầy
+     */
+    public enum OverflowPolicy {
+        // Bỏ qua lượt xem mới
+        DROP,
+        // Chờ tối đa block-timeout-ms rồi mới bỏ qua
+        BLOCK,
+        // Ghi tạm ra file, luồng ghi sẽ nạp lại khi hàng đợi rảnh
+        SPILL
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ViewEvent {
+        private final String googleId;
+        private final Integer articleId;
+        private final LocalDateTime viewedAt;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final StatsCounterService statsCounterService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reading-history.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reading-history.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reading-history.ingest.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${reading-history.ingest.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${reading-history.ingest.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    @Value("${reading-history.ingest.spill-file:reading-history-spill.log}")
+    private String spillFile;
+
+    @Value("${reading-history.ingest.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<ViewEvent> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private final Object spillLock = new Object();
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter spilledCounter;
+
+    /**
+     * Ghi nhận một lượt xem. Không chặn luồng xử lý request (trừ chính sách BLOCK).
+     *
+     * @return true nếu lượt xem được nhận, false nếu bị bỏ qua
+     */
+    public boolean record(Integer articleId, String googleId) {
+        if (articleId == null || googleId == null || queue == null) {
+            return false;
+        }
+        ViewEvent event = new ViewEvent(googleId, articleId, LocalDateTime.now());
+        if (queue.offer(event)) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    if (queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case SPILL:
+                if (spill(List.of(event))) {
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flushTimer = Timer.builder("reading_history.ingest.flush")
+                .description("Thời gian ghi một lô lịch sử đọc")
+                .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("reading_history.ingest.written");
+        droppedCounter = meterRegistry.counter("reading_history.ingest.dropped");
+        spilledCounter = meterRegistry.counter("reading_history.ingest.spilled");
+        Gauge.builder("reading_history.ingest.queue.depth", this, ReadingHistoryIngestService::getQueueDepth)
+                .description("Số lượt xem đang chờ ghi")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::runWriter, "reading-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Reading history ingest started (capacity={}, batchSize={}, flushIntervalMs={}, policy={})",
+                queueCapacity, batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        log.info("Stopping reading history ingest, draining {} queued views", getQueueDepth());
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            // Hết thời gian chờ: ghi phần còn lại ra file để lần khởi động sau nạp lại
+            List<ViewEvent> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            if (!remaining.isEmpty() && spill(remaining)) {
+                log.warn("Spilled {} unflushed views on shutdown", remaining.size());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Dừng sau web server để không còn request mới khi đang xả hàng đợi
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        replaySpill();
+        List<ViewEvent> batch = new ArrayList<>(batchSize);
+        boolean interrupted = false;
+        while (!interrupted && (running || !queue.isEmpty())) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+            }
+            if (!batch.isEmpty()) {
+                List<ViewEvent> failed = flush(batch);
+                // DB lỗi: ghi tạm ra file để nạp lại sau thay vì bỏ mất cả lô
+                if (!failed.isEmpty() && !spill(failed)) {
+                    droppedCounter.increment(failed.size());
+                }
+                batch.clear();
+            } else if (running) {
+                replaySpill();
+            }
+        }
+        log.info("Reading history writer stopped");
+    }
+
+    private void fillBatch(List<ViewEvent> batch) throws InterruptedException {
+        ViewEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            ViewEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Ghi một lô. Dòng lỗi dữ liệu (ví dụ bài viết vừa bị xóa) được bỏ qua; lỗi
+     * kết nối hoặc transaction thì trả về các lượt xem chưa ghi để thử lại sau.
+     *
+     * @return Các lượt xem chưa ghi được, theo thứ tự trong lô (rỗng nếu xong)
+     */
+    private List<ViewEvent> flush(List<ViewEvent> batch) {
+        return flushTimer.record(() -> {
+            try {
+                return writeBatch(batch);
+            } catch (DataAccessException | TransactionException e) {
+                log.error("Failed to flush {} reading history rows: {}", batch.size(), e.getMessage());
+                return batch;
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} reading history rows: {}", batch.size(), e.getMessage(), e);
+                return List.of();
+            }
+        });
+    }
+
+    private List<ViewEvent> writeBatch(List<ViewEvent> batch) {
+        Set<String> googleIds = batch.stream().map(ViewEvent::getGoogleId).collect(Collectors.toSet());
+        Map<String, Integer> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findIdsByGoogleIds(googleIds)) {
+            userIds.put((String) row[0], (Integer) row[1]);
+        }
+
+        List<ViewEvent> events = new ArrayList<>(batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        Map<YearMonth, Long> viewsByMonth = new HashMap<>();
+        for (ViewEvent event : batch) {
+            Integer userId = userIds.get(event.getGoogleId());
+            if (userId == null) {
+                continue;
+            }
+            events.add(event);
+            rows.add(new Object[] { userId, event.getArticleId(), Timestamp.valueOf(event.getViewedAt()) });
+            viewsByMonth.merge(YearMonth.from(event.getViewedAt()), 1L, Long::sum);
+        }
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        int written;
+        List<ViewEvent> unwritten = List.of();
+        try {
+            // Cả lô trong một transaction: lỗi thì không còn dòng nào đã ghi
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            written = rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // Một dòng lỗi (ví dụ bài viết vừa bị xóa) làm hỏng cả lô: ghi lại từng dòng
+            log.warn("Batch insert failed, retrying row by row: {}", e.getMessage());
+            written = 0;
+            viewsByMonth.clear();
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row);
+                    written++;
+                    viewsByMonth.merge(YearMonth.from(((Timestamp) row[2]).toLocalDateTime()), 1L, Long::sum);
+                } catch (DataIntegrityViolationException rowError) {
+                    log.debug("Skipping reading history row for article {}: {}", row[1], rowError.getMessage());
+                } catch (DataAccessException rowError) {
+                    log.error("Failed to write reading history row by row, {} rows left: {}", rows.size() - i,
+                            rowError.getMessage());
+                    unwritten = events.subList(i, events.size());
+                    break;
+                }
+            }
+        }
+        writtenCounter.increment(written);
+        viewsByMonth.forEach((month, count) -> statsCounterService.viewsRecorded(month.atDay(1).atStartOfDay(), count));
+        return unwritten;
+    }
+
+    private boolean spill(List<ViewEvent> events) {
+        synchronized (spillLock) {
+            try (BufferedWriter out = Files.newBufferedWriter(Paths.get(spillFile), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (ViewEvent event : events) {
+                    out.write(event.getGoogleId() + "\t" + event.getArticleId() + "\t" + event.getViewedAt());
+                    out.newLine();
+                }
+                spilledCounter.increment(events.size());
+                return true;
+            } catch (IOException e) {
+                log.error("Failed to spill reading history to {}: {}", spillFile, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Nạp lại các lượt xem đã ghi tạm ra file khi hàng đợi còn trống ít nhất một
+     * nửa. File được đổi tên thành .replay rồi nạp theo lô; số dòng đã ghi được
+     * lưu ở file .replay.done sau mỗi lô. DB lỗi thì dừng và giữ nguyên file, lần
+     * sau nạp tiếp từ dòng chưa ghi nên không mất cũng không ghi trùng lượt xem.
+     */
+    private void replaySpill() {
+        if (queue.remainingCapacity() < queueCapacity / 2) {
+            return;
+        }
+        Path path = Paths.get(spillFile);
+        Path replay = Paths.get(spillFile + ".replay");
+        Path progress = Paths.get(spillFile + ".replay.done");
+        synchronized (spillLock) {
+            // File .replay còn lại từ lần nạp trước chưa xong thì nạp tiếp nó trước
+            if (!Files.exists(replay)) {
+                if (!Files.exists(path)) {
+                    return;
+                }
+                try {
+                    Files.move(path, replay);
+                    Files.deleteIfExists(progress);
+                } catch (IOException e) {
+                    log.error("Failed to rotate spill file {}: {}", spillFile, e.getMessage());
+                    return;
+                }
+            }
+        }
+        try {
+            long done = readProgress(progress);
+            long replayed = 0;
+            long lineNumber = 0;
+            List<ViewEvent> batch = new ArrayList<>(batchSize);
+            List<Long> lineNumbers = new ArrayList<>(batchSize);
+            try (BufferedReader in = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber <= done) {
+                        continue;
+                    }
+                    ViewEvent event = parse(line);
+                    if (event != null) {
+                        batch.add(event);
+                        lineNumbers.add(lineNumber);
+                    }
+                    if (batch.size() >= batchSize) {
+                        if (!replayBatch(batch, lineNumbers, lineNumber, progress)) {
+                            return;
+                        }
+                        replayed += batch.size();
+                        batch.clear();
+                        lineNumbers.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty() && !replayBatch(batch, lineNumbers, lineNumber, progress)) {
+                return;
+            }
+            replayed += batch.size();
+            Files.delete(replay);
+            Files.deleteIfExists(progress);
+            log.info("Replayed {} spilled reading history rows", replayed);
+        } catch (IOException e) {
+            log.error("Failed to replay spill file {}: {}", replay, e.getMessage());
+        }
+    }
+
+    /**
+     * Ghi một lô đọc từ file .replay và lưu vị trí đã ghi tới
+     *
+     * @param lineNumbers Số dòng trong file của từng lượt xem trong lô
+     * @param lastLine    Dòng cuối cùng đã đọc
+     * @return false nếu DB lỗi (đã lưu vị trí của lượt xem đầu tiên chưa ghi)
+     */
+    private boolean replayBatch(List<ViewEvent> batch, List<Long> lineNumbers, long lastLine, Path progress)
+            throws IOException {
+        List<ViewEvent> failed = flush(batch);
+        if (failed.isEmpty()) {
+            Files.writeString(progress, Long.toString(lastLine));
+            return true;
+        }
+        long done = lineNumbers.get(batch.indexOf(failed.get(0))) - 1;
+        Files.writeString(progress, Long.toString(done));
+        log.warn("Stopped replaying spill file at line {}, will resume later", done + 1);
+        return false;
+    }
+
+    private long readProgress(Path progress) throws IOException {
+        if (!Files.exists(progress)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(progress).trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid replay progress in {}: {}", progress, e.getMessage());
+            return 0;
+        }
+    }
+
+    private ViewEvent parse(String line) {
+        String[] parts = line.split("\t");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new ViewEvent(parts[0], Integer.valueOf(parts[1]), LocalDateTime.parse(parts[2]));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.debug("Skipping malformed spill line: {}", line);
+            return null;
+        }
+    }
+}
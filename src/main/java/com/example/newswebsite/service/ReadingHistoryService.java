@@ -1,22 +1,20 @@
 package com.example.newswebsite.service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
-import com.example.newswebsite.domain.Article;
 import com.example.newswebsite.domain.ReadingHistory;
-import com.example.newswebsite.domain.User;
 import com.example.newswebsite.domain.response.ReadingHistorySummaryDTO;
-import com.example.newswebsite.repository.ArticleRepository;
 import com.example.newswebsite.repository.ReadingHistoryRepository;
-import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.service.UserIdentityService.UserIdentity;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,15 +25,17 @@ import lombok.extern.slf4j.Slf4j;
 public class ReadingHistoryService {
 
     private final ReadingHistoryRepository readingHistoryRepository;
-    private final UserRepository userRepository;
-    private final ArticleRepository articleRepository;
+    private final StatsCounterService statsCounterService;
+    private final UserIdentityService userIdentityService;
 
     public ReadingHistory saveReadingHistory(ReadingHistory history) {
         String googleId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User user = userRepository.findByGoogleId(googleId);
-        history.setUser(user);
+        UserIdentity user = userIdentityService.get(googleId);
+        history.setUser(user != null ? userIdentityService.getReference(user) : null);
         history.setViewedAt(LocalDateTime.now());
-        return readingHistoryRepository.save(history);
+        ReadingHistory saved = readingHistoryRepository.save(history);
+        statsCounterService.viewsRecorded(saved.getViewedAt(), 1);
+        return saved;
     }
 
     public List<ReadingHistory> getUserReadingHistory() {
@@ -45,57 +45,35 @@ public class ReadingHistoryService {
 
     /**
      * Lấy lịch sử đọc của người dùng theo googleId, gom nhóm theo bài viết và hiển
-     * thị số lần đọc
+     * thị số lần đọc (gồm cả lượt xem cũ đã được gom theo ngày). Mỗi trang chỉ tốn
+     * một truy vấn dữ liệu và một truy vấn đếm.
      * 
      * @param googleId Google ID của người dùng
-     * @return Danh sách DTO chứa thông tin bài viết và số lần đọc
+     * @param pageable Thông tin phân trang (thứ tự luôn là mới đọc nhất trước)
+     * @return Trang DTO chứa thông tin bài viết và số lần đọc
      */
-    public List<ReadingHistorySummaryDTO> getUserReadingHistoryByGoogleId(String googleId) {
+    public Page<ReadingHistorySummaryDTO> getUserReadingHistoryByGoogleId(String googleId, Pageable pageable) {
         log.info("Getting reading history for user with googleId: {}", googleId);
-
-        // Lấy thông tin số lần đọc và thời gian đọc gần nhất
-        List<Object[]> viewCounts = readingHistoryRepository.countViewsByArticleAndUserGoogleId(googleId);
-
-        // Tạo map articleId -> số lần đọc để dễ truy xuất
-        Map<Integer, Object[]> articleViewsMap = viewCounts.stream()
-                .collect(Collectors.toMap(
-                        row -> (Integer) row[0], // articleId
-                        row -> row));
-
-        // Kết quả trả về
-        List<ReadingHistorySummaryDTO> result = new ArrayList<>();
-
-        // Lấy chi tiết bài viết và tạo DTO
-        for (Integer articleId : articleViewsMap.keySet()) {
-            try {
-                Article article = articleRepository.findById(articleId).orElse(null);
-                if (article != null) {
-                    Object[] viewData = articleViewsMap.get(articleId);
-                    long count = (long) viewData[1];
-                    LocalDateTime lastViewed = (LocalDateTime) viewData[2];
-
-                    ReadingHistorySummaryDTO dto = new ReadingHistorySummaryDTO();
-                    dto.setArticleId(articleId);
-                    dto.setTitle(article.getTitle());
-                    dto.setSummary(article.getSummary());
-                    dto.setThumbnailUrl(article.getThumbnailUrl());
-                    dto.setAuthorName(article.getAuthor() != null ? article.getAuthor().getName() : "");
-                    dto.setCategoryName(article.getCategory() != null ? article.getCategory().getName() : "");
-                    dto.setCategoryId(article.getCategory() != null ? article.getCategory().getCategoryId() : null);
-                    dto.setViewCount(count);
-                    dto.setLastViewedAt(lastViewed);
-
-                    result.add(dto);
-                }
-            } catch (Exception e) {
-                log.error("Error processing article ID {}: {}", articleId, e.getMessage());
-            }
+        UserIdentity user = userIdentityService.get(googleId);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (user == null) {
+            return Page.empty(page);
         }
+        return readingHistoryRepository.findSummariesByUserId(user.getUserId(), page).map(this::toSummary);
+    }
 
-        // Sắp xếp theo thời gian đọc gần nhất
-        result.sort((a, b) -> b.getLastViewedAt().compareTo(a.getLastViewedAt()));
-
-        return result;
+    private ReadingHistorySummaryDTO toSummary(Object[] row) {
+        ReadingHistorySummaryDTO dto = new ReadingHistorySummaryDTO();
+        dto.setArticleId((Integer) row[0]);
+        dto.setTitle((String) row[1]);
+        dto.setSummary((String) row[2]);
+        dto.setThumbnailUrl((String) row[3]);
+        dto.setAuthorName((String) row[4]);
+        dto.setCategoryName((String) row[5]);
+        dto.setCategoryId((Integer) row[6]);
+        dto.setViewCount(((Number) row[7]).longValue());
+        dto.setLastViewedAt(row[8] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[8]);
+        return dto;
     }
 
     public boolean deleteReadingHistory(Integer id) {
@@ -104,6 +82,7 @@ public class ReadingHistoryService {
                 googleId);
         if (optionalHistory.isPresent()) {
             readingHistoryRepository.deleteById(id);
+            statsCounterService.viewsRecorded(optionalHistory.get().getViewedAt(), -1);
             return true;
         }
         return false;
@@ -0,0 +1,392 @@
+package com.example.newswebsite.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.util.ArticleStatus;
+import com.example.newswebsite.util.ReplayingRebuilder;
+import com.example.newswebsite.util.VietnameseTokenizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chỉ mục đảo ngược (inverted index) trong bộ nhớ cho các bài viết đã xuất
+ * bản. Điểm liên quan tính theo BM25, danh sách posting được nén (delta +
+ * varint) trong mảng byte, lọc danh mục bằng BitSet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float FUZZY_WEIGHT = 0.7f;
+    private static final int MAX_FUZZY_TERMS = 10;
+
+    private final ArticleRepository articleRepository;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.title-boost:3}")
+    private int titleBoost;
+
+    @Value("${search.index.batch-size:500}")
+    private int batchSize;
+
+    // Tỉ lệ bản ghi đã xóa (tombstone) để dựng lại chỉ mục
+    @Value("${search.index.rebuild-ratio:0.3}")
+    private double rebuildRatio;
+
+    /**
+     * Danh sách posting của một từ: các cặp (delta docNo, tần suất) mã hóa varint
+     */
+    private static class PostingList {
+        private byte[] data = new byte[8];
+        private int size;
+        private int count;
+        private int lastDoc;
+
+        void add(int docNo, int tf) {
+            writeVarint(docNo - lastDoc);
+            writeVarint(tf);
+            lastDoc = docNo;
+            count++;
+        }
+
+        void forEach(DocVisitor visitor) {
+            int pos = 0;
+            int doc = 0;
+            while (pos < size) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                int tf = 0;
+                shift = 0;
+                do {
+                    b = data[pos++];
+                    tf |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += delta;
+                visitor.visit(doc, tf);
+            }
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocVisitor {
+        void visit(int docNo, int tf);
+    }
+
+    /**
+     * Dữ liệu chỉ mục. docNo tăng dần; bài viết được cập nhật thì bản cũ bị đánh
+     * dấu xóa và thêm bản mới ở cuối.
+     */
+    private static class Index {
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Integer, Integer> docByArticle = new HashMap<>();
+        private final Map<Integer, BitSet> categories = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private int[] articleIds = new int[1024];
+        private int[] lengths = new int[1024];
+        private int docCount;
+        private int liveCount;
+        private long totalLength;
+
+        void add(int articleId, Integer categoryId, Map<String, Integer> termFreqs, int length) {
+            remove(articleId);
+            int docNo = docCount++;
+            if (docNo == articleIds.length) {
+                articleIds = Arrays.copyOf(articleIds, docNo * 2);
+                lengths = Arrays.copyOf(lengths, docNo * 2);
+            }
+            articleIds[docNo] = articleId;
+            lengths[docNo] = length;
+            live.set(docNo);
+            liveCount++;
+            totalLength += length;
+            docByArticle.put(articleId, docNo);
+            if (categoryId != null) {
+                categories.computeIfAbsent(categoryId, id -> new BitSet()).set(docNo);
+            }
+            termFreqs.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new PostingList()).add(docNo, tf));
+        }
+
+        void remove(int articleId) {
+            Integer docNo = docByArticle.remove(articleId);
+            if (docNo != null) {
+                live.clear(docNo);
+                liveCount--;
+                totalLength -= lengths[docNo];
+            }
+        }
+    }
+
+    private final ReplayingRebuilder<Index> index = new ReplayingRebuilder<>("search index", new Index());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            Thread builder = new Thread(this::rebuild, "search-index-builder");
+            builder.setDaemon(true);
+            builder.start();
+        }
+    }
+
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    /**
+     * Cập nhật chỉ mục sau khi bài viết được tạo, sửa hoặc đổi trạng thái. Chỉ bài
+     * viết PUBLISHED nằm trong chỉ mục.
+     */
+    public void articleChanged(Article article) {
+        if (!enabled) {
+            return;
+        }
+        Integer articleId = article.getArticleId();
+        if (article.getStatus() != ArticleStatus.PUBLISHED) {
+            index.apply(current -> current.remove(articleId));
+            return;
+        }
+        Integer categoryId = article.getCategory() != null ? article.getCategory().getCategoryId() : null;
+        Document document = analyze(article.getTitle(), article.getSummary(), article.getContent());
+        index.apply(current -> current.add(articleId, categoryId, document.termFreqs, document.length));
+    }
+
+    public void articleDeleted(Integer articleId) {
+        if (enabled) {
+            index.apply(current -> current.remove(articleId));
+        }
+    }
+
+    /**
+     * Tìm kiếm theo BM25, có thể lọc theo danh mục
+     *
+     * @return Trang mảng Object: [articleId, điểm liên quan]
+     */
+    public Page<Object[]> search(String keyword, Integer categoryId, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(VietnameseTokenizer.tokenize(keyword));
+        return index.read(current -> {
+            if (terms.isEmpty() || current.liveCount == 0) {
+                return Page.empty(pageable);
+            }
+            BitSet filter = current.live;
+            if (categoryId != null) {
+                BitSet category = current.categories.get(categoryId);
+                if (category == null) {
+                    return Page.empty(pageable);
+                }
+                filter = (BitSet) category.clone();
+                filter.and(current.live);
+            }
+
+            float[] scores = new float[current.docCount];
+            float avgLength = (float) current.totalLength / current.liveCount;
+            BitSet candidates = filter;
+            for (String term : terms) {
+                expand(current, term).forEach((matched, weight) -> {
+                    PostingList postings = current.postings.get(matched);
+                    float idf = (float) Math.log(1 + (current.liveCount - postings.count + 0.5)
+                            / (postings.count + 0.5));
+                    float termWeight = weight * Math.max(idf, 0.01f);
+                    postings.forEach((docNo, tf) -> {
+                        if (candidates.get(docNo)) {
+                            float norm = K1 * (1 - B + B * current.lengths[docNo] / avgLength);
+                            scores[docNo] += termWeight * tf * (K1 + 1) / (tf + norm);
+                        }
+                    });
+                });
+            }
+            return topK(current, scores, pageable);
+        });
+    }
+
+    /**
+     * Dựng lại toàn bộ chỉ mục từ DB. Chỉ mục cũ vẫn phục vụ tìm kiếm trong lúc
+     * dựng.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Index built = index.rebuild(() -> {
+            Index fresh = new Index();
+            Integer afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = articleRepository.findSearchDocuments(ArticleStatus.PUBLISHED, afterId,
+                        PageRequest.of(0, batchSize));
+                for (Object[] row : rows) {
+                    Document document = analyze((String) row[1], (String) row[2], (String) row[3]);
+                    fresh.add((Integer) row[0], (Integer) row[4], document.termFreqs, document.length);
+                    afterId = (Integer) row[0];
+                }
+            } while (rows.size() == batchSize);
+            return fresh;
+        });
+        if (built != null) {
+            log.info("Search index built: {} articles, {} terms in {} ms", built.liveCount, built.postings.size(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Thử dựng lại khi lần dựng trước lỗi (ví dụ DB chưa sẵn sàng lúc khởi động).
+     * Trong lúc chưa có chỉ mục, SearchService tìm kiếm bằng DB.
+     */
+    @Scheduled(fixedDelayString = "${search.index.retry-interval-ms:60000}", initialDelayString = "${search.index.retry-interval-ms:60000}")
+    public void retryIfNotReady() {
+        if (enabled && !index.isReady() && !index.isRebuilding()) {
+            log.info("Search index is not ready, retrying build");
+            rebuild();
+        }
+    }
+
+    /**
+     * Dựng lại chỉ mục khi có quá nhiều bản ghi đã xóa
+     */
+    @Scheduled(fixedDelayString = "${search.index.compact-interval-ms:600000}")
+    public void compactIfNeeded() {
+        if (!enabled || !index.isReady()) {
+            return;
+        }
+        int[] counts = index.read(current -> new int[] { current.docCount, current.liveCount });
+        int docCount = counts[0];
+        int liveCount = counts[1];
+        if (docCount > 0 && (docCount - liveCount) > rebuildRatio * docCount) {
+            log.info("Search index has {} tombstones out of {} documents, rebuilding", docCount - liveCount,
+                    docCount);
+            rebuild();
+        }
+    }
+
+    private static class Document {
+        private final Map<String, Integer> termFreqs = new HashMap<>();
+        private int length;
+
+        void add(String text, int boost) {
+            for (String token : VietnameseTokenizer.tokenize(text)) {
+                termFreqs.merge(token, boost, Integer::sum);
+                length += boost;
+            }
+        }
+    }
+
+    private Document analyze(String title, String summary, String content) {
+        Document document = new Document();
+        document.add(title, titleBoost);
+        document.add(summary, 1);
+        document.add(content, 1);
+        return document;
+    }
+
+    /**
+     * Từ có trong chỉ mục thì dùng nguyên; nếu không thì tìm các từ cách một lỗi
+     * gõ (thêm, bớt, thay hoặc đảo hai ký tự) với trọng số thấp hơn
+     */
+    private static Map<String, Float> expand(Index index, String term) {
+        if (index.postings.containsKey(term)) {
+            return Map.of(term, 1f);
+        }
+        Map<String, Float> matches = new HashMap<>();
+        if (term.length() < 4) {
+            return matches;
+        }
+        for (String candidate : index.postings.keySet()) {
+            if (candidate.charAt(0) == term.charAt(0) && withinOneEdit(term, candidate)) {
+                matches.put(candidate, FUZZY_WEIGHT);
+                if (matches.size() >= MAX_FUZZY_TERMS) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        int min = Math.min(a.length(), b.length());
+        while (i < min && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == min) {
+            return true;
+        }
+        if (lengthDiff > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDiff < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        // Thay một ký tự hoặc đảo hai ký tự liền nhau
+        return a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)
+                || (i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                        && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2));
+    }
+
+    private static Page<Object[]> topK(Index index, float[] scores, Pageable pageable) {
+        int limit = pageable.isPaged() ? (int) pageable.getOffset() + pageable.getPageSize() : Integer.MAX_VALUE;
+        PriorityQueue<Integer> heap = new PriorityQueue<>((a, b) -> Float.compare(scores[a], scores[b]));
+        int total = 0;
+        for (int docNo = 0; docNo < scores.length; docNo++) {
+            if (scores[docNo] <= 0) {
+                continue;
+            }
+            total++;
+            heap.offer(docNo);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort((a, b) -> Float.compare(scores[b], scores[a]));
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ranked.size()) : 0;
+        List<Object[]> rows = new ArrayList<>(ranked.size() - from);
+        for (int docNo : ranked.subList(from, ranked.size())) {
+            rows.add(new Object[] { index.articleIds[docNo], (double) scores[docNo] });
+        }
+        return new PageImpl<>(rows, pageable, total);
+    }
+}
@@ -1,8 +1,17 @@
 package com.example.newswebsite.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -19,9 +28,42 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SearchService {
     private final ArticleRepository articleRepository;
+    private final SearchIndexService searchIndexService;
 
-    public Page<SearchResultDTO> searchArticles(String keyword, Pageable pageable) {
+    /**
+     * Cách tìm kiếm bài viết
+     */
+    public enum SearchMode {
+        // MATCH ... AGAINST trên chỉ mục FULLTEXT ft_search, sắp xếp theo độ liên quan
+        FULLTEXT,
+        // LIKE '%từ khóa%', sắp xếp theo ngày tạo
+        LIKE,
+        // Chỉ mục đảo ngược trong bộ nhớ (SearchIndexService), chấm điểm BM25
+        INDEX
+    }
+
+    @Value("${search.mode:FULLTEXT}")
+    private SearchMode defaultMode;
+
+    // Giống innodb_ft_min_token_size của server (2, xem V11__rebuild_fulltext_index.sql):
+    // từ ngắn hơn không được đánh chỉ mục
+    @Value("${search.fulltext.min-token-size:2}")
+    private int minTokenSize;
+
+    public Page<SearchResultDTO> searchArticles(String keyword, SearchMode mode, Pageable pageable) {
         log.info("Searching articles with keyword: {}", keyword);
+        if (useIndex(mode)) {
+            return toResultPage(searchIndexService.search(keyword, null, pageable));
+        }
+        String query = prepareKeyword(keyword);
+        if (useFullText(mode, query)) {
+            try {
+                return toResultPage(articleRepository.searchFullText(query, ArticleStatus.PUBLISHED.name(),
+                        withoutSort(pageable)));
+            } catch (DataAccessException e) {
+                log.warn("Full-text search failed, falling back to LIKE: {}", e.getMessage());
+            }
+        }
         Page<Article> articles = articleRepository.searchArticles(
                 keyword,
                 ArticleStatus.PUBLISHED,
@@ -30,8 +72,21 @@ public class SearchService {
         return articles.map(this::convertToSearchResultDTO);
     }
 
-    public Page<SearchResultDTO> searchArticlesByCategory(String keyword, Integer categoryId, Pageable pageable) {
+    public Page<SearchResultDTO> searchArticlesByCategory(String keyword, Integer categoryId, SearchMode mode,
+            Pageable pageable) {
         log.info("Searching articles with keyword: {} in category: {}", keyword, categoryId);
+        if (useIndex(mode)) {
+            return toResultPage(searchIndexService.search(keyword, categoryId, pageable));
+        }
+        String query = prepareKeyword(keyword);
+        if (useFullText(mode, query)) {
+            try {
+                return toResultPage(articleRepository.searchFullTextByCategory(query,
+                        ArticleStatus.PUBLISHED.name(), categoryId, withoutSort(pageable)));
+            } catch (DataAccessException e) {
+                log.warn("Full-text search failed, falling back to LIKE: {}", e.getMessage());
+            }
+        }
         Page<Article> articles = articleRepository.searchArticlesByCategory(
                 keyword,
                 ArticleStatus.PUBLISHED,
@@ -41,9 +96,61 @@ public class SearchService {
         return articles.map(this::convertToSearchResultDTO);
     }
 
+    /**
+     * Chuyển từ khóa thành truy vấn boolean mode: bỏ các ký tự toán tử của MySQL
+     * và thêm dấu * vào cuối mỗi từ để tìm kiếm prefix. Từ ngắn hơn
+     * min-token-size bị bỏ vì không có trong chỉ mục.
+     *
+     * @return Truy vấn boolean mode, hoặc chuỗi rỗng nếu không còn từ nào dùng được
+     */
     private String prepareKeyword(String keyword) {
-        // Thêm dấu * vào cuối mỗi từ để tìm kiếm prefix
-        return keyword.trim().replaceAll("\\s+", "* *") + "*";
+        if (keyword == null) {
+            return "";
+        }
+        return Arrays.stream(keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+"))
+                .filter(term -> term.length() >= minTokenSize)
+                .map(term -> term + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    // Chỉ mục chưa dựng xong thì tìm trên DB bằng FULLTEXT
+    private boolean useIndex(SearchMode mode) {
+        SearchMode effective = mode != null ? mode : defaultMode;
+        return effective == SearchMode.INDEX && searchIndexService.isReady();
+    }
+
+    private boolean useFullText(SearchMode mode, String query) {
+        SearchMode effective = mode != null ? mode : defaultMode;
+        // Từ khóa chỉ gồm từ ngắn thì FULLTEXT không tìm được, dùng LIKE
+        return effective != SearchMode.LIKE && !query.isEmpty();
+    }
+
+    // Truy vấn FULLTEXT luôn sắp xếp theo độ liên quan
+    private static Pageable withoutSort(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
+
+    /**
+     * Nạp các bài viết của một trang kết quả (FULLTEXT hoặc chỉ mục) bằng một truy
+     * vấn, giữ nguyên thứ tự theo độ liên quan
+     */
+    private Page<SearchResultDTO> toResultPage(Page<Object[]> rows) {
+        List<Integer> articleIds = rows.getContent().stream()
+                .map(row -> ((Number) row[0]).intValue())
+                .collect(Collectors.toList());
+        Map<Integer, Article> articles = articleRepository.findByArticleIdIn(articleIds).stream()
+                .collect(Collectors.toMap(Article::getArticleId, Function.identity()));
+
+        List<SearchResultDTO> results = new ArrayList<>(articleIds.size());
+        for (Object[] row : rows.getContent()) {
+            Article article = articles.get(((Number) row[0]).intValue());
+            if (article != null) {
+                SearchResultDTO dto = convertToSearchResultDTO(article);
+                dto.setRelevanceScore(((Number) row[1]).doubleValue());
+                results.add(dto);
+            }
+        }
+        return new PageImpl<>(results, rows.getPageable(), rows.getTotalElements());
     }
 
     private SearchResultDTO convertToSearchResultDTO(Article article) {
@@ -58,4 +165,4 @@ public class SearchService {
         dto.setThumbnailUrl(article.getThumbnailUrl());
         return dto;
     }
-}
\ No newline at end of file
+}
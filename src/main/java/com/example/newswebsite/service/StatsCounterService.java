@@ -0,0 +1,223 @@
+package com.example.newswebsite.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.newswebsite.domain.Comment;
+import com.example.newswebsite.domain.StatsCounter;
+import com.example.newswebsite.domain.StatsCounterId;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.repository.CommentRepository;
+import com.example.newswebsite.repository.FavoriteRepository;
+import com.example.newswebsite.repository.ReadingHistoryDailyRepository;
+import com.example.newswebsite.repository.ReadingHistoryRepository;
+import com.example.newswebsite.repository.StatsCounterRepository;
+import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.service.ContentVersionService.Scope;
+import com.example.newswebsite.util.ArticleStatus;
+import com.example.newswebsite.util.StatsMetric;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Duy trì các bộ đếm thống kê (theo trạng thái, danh mục, vai trò, tháng) ngay
+ * khi dữ liệu được ghi, để trang thống kê không phải quét toàn bộ bảng
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCounterService {
+
+    public static final String NO_CATEGORY_BUCKET = "none";
+    public static final String NO_ROLE_BUCKET = "none";
+    public static final String TOTAL_BUCKET = "all";
+
+    private final StatsCounterRepository statsCounterRepository;
+    private final ArticleRepository articleRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final ReadingHistoryRepository readingHistoryRepository;
+    private final ReadingHistoryDailyRepository readingHistoryDailyRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final ContentVersionService contentVersionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (statsCounterRepository.count() == 0) {
+            log.info("Stats counters are empty, rebuilding from source tables");
+            rebuild();
+        }
+    }
+
+    @Transactional
+    public void articleCreated(ArticleStatus status, Integer categoryId) {
+        articlesCreated(status, categoryId, 1);
+    }
+
+    /**
+     * Cộng nhiều bài viết cùng trạng thái và danh mục một lần (dùng khi import)
+     */
+    @Transactional
+    public void articlesCreated(ArticleStatus status, Integer categoryId, long count) {
+        increment(StatsMetric.ARTICLE_STATUS, status.name(), count);
+        increment(StatsMetric.ARTICLE_CATEGORY, categoryBucket(categoryId), count);
+    }
+
+    @Transactional
+    public void articleChanged(ArticleStatus oldStatus, Integer oldCategoryId, ArticleStatus newStatus,
+            Integer newCategoryId) {
+        if (oldStatus != newStatus) {
+            increment(StatsMetric.ARTICLE_STATUS, oldStatus.name(), -1);
+            increment(StatsMetric.ARTICLE_STATUS, newStatus.name(), 1);
+        }
+        String oldBucket = categoryBucket(oldCategoryId);
+        String newBucket = categoryBucket(newCategoryId);
+        if (!oldBucket.equals(newBucket)) {
+            increment(StatsMetric.ARTICLE_CATEGORY, oldBucket, -1);
+            increment(StatsMetric.ARTICLE_CATEGORY, newBucket, 1);
+        }
+    }
+
+    /**
+     * Trừ bài viết cùng các bình luận và lượt xem sẽ bị xóa theo cascade. Phải
+     * được gọi trước khi xóa bài viết.
+     */
+    @Transactional
+    public void articleDeleted(Integer articleId, ArticleStatus status, Integer categoryId) {
+        increment(StatsMetric.ARTICLE_STATUS, status.name(), -1);
+        increment(StatsMetric.ARTICLE_CATEGORY, categoryBucket(categoryId), -1);
+        for (Object[] row : commentRepository.countGroupByMonthForArticle(articleId)) {
+            increment(StatsMetric.COMMENT_MONTH, monthBucket(row), -((Number) row[2]).longValue());
+        }
+        for (Object[] row : readingHistoryRepository.countGroupByMonthForArticle(articleId)) {
+            increment(StatsMetric.VIEW_MONTH, monthBucket(row), -((Number) row[2]).longValue());
+        }
+        for (Object[] row : readingHistoryDailyRepository.countGroupByMonthForArticle(articleId)) {
+            increment(StatsMetric.VIEW_MONTH, monthBucket(row), -((Number) row[2]).longValue());
+        }
+    }
+
+    @Transactional
+    public void userCreated(String roleName) {
+        increment(StatsMetric.USER_ROLE, roleBucket(roleName), 1);
+    }
+
+    @Transactional
+    public void userRoleChanged(String oldRoleName, String newRoleName) {
+        String oldBucket = roleBucket(oldRoleName);
+        String newBucket = roleBucket(newRoleName);
+        if (!oldBucket.equals(newBucket)) {
+            increment(StatsMetric.USER_ROLE, oldBucket, -1);
+            increment(StatsMetric.USER_ROLE, newBucket, 1);
+        }
+    }
+
+    @Transactional
+    public void commentsAdded(LocalDateTime createdAt, long delta) {
+        if (createdAt != null) {
+            increment(StatsMetric.COMMENT_MONTH, monthBucket(createdAt), delta);
+        }
+    }
+
+    /**
+     * Trừ bình luận và toàn bộ các trả lời của nó (bị xóa theo cascade). Phải được
+     * gọi trước khi xóa bình luận.
+     */
+    @Transactional
+    public void commentDeleted(Comment comment) {
+        commentsAdded(comment.getCreatedAt(), -1);
+        if (comment.getReplies() != null) {
+            comment.getReplies().forEach(this::commentDeleted);
+        }
+    }
+
+    @Transactional
+    public void viewsRecorded(LocalDateTime viewedAt, long delta) {
+        if (viewedAt != null) {
+            increment(StatsMetric.VIEW_MONTH, monthBucket(viewedAt), delta);
+        }
+    }
+
+    @Transactional
+    public void favoritesChanged(long delta) {
+        increment(StatsMetric.FAVORITE_TOTAL, TOTAL_BUCKET, delta);
+    }
+
+    /**
+     * Tính lại toàn bộ bộ đếm từ các bảng gốc bằng truy vấn GROUP BY. Dùng khi
+     * khởi tạo lần đầu hoặc khi bộ đếm bị lệch.
+     */
+    @Transactional
+    public void rebuild() {
+        log.info("Rebuilding stats counters");
+        List<StatsCounter> counters = new ArrayList<>();
+
+        for (Object[] row : articleRepository.countGroupByStatus()) {
+            counters.add(counter(StatsMetric.ARTICLE_STATUS, ((ArticleStatus) row[0]).name(), row[1]));
+        }
+        for (Object[] row : articleRepository.countGroupByCategory()) {
+            counters.add(counter(StatsMetric.ARTICLE_CATEGORY, categoryBucket((Integer) row[0]), row[1]));
+        }
+        for (Object[] row : userRepository.countGroupByRole()) {
+            counters.add(counter(StatsMetric.USER_ROLE, roleBucket((String) row[0]), row[1]));
+        }
+        for (Object[] row : commentRepository.countGroupByMonth()) {
+            counters.add(counter(StatsMetric.COMMENT_MONTH, monthBucket(row), row[2]));
+        }
+        // Lượt xem nằm ở cả reading_history và phần đã gom theo ngày
+        Map<String, Long> viewsByMonth = new TreeMap<>();
+        for (Object[] row : readingHistoryRepository.countGroupByMonth()) {
+            viewsByMonth.merge(monthBucket(row), ((Number) row[2]).longValue(), Long::sum);
+        }
+        for (Object[] row : readingHistoryDailyRepository.countGroupByMonth()) {
+            viewsByMonth.merge(monthBucket(row), ((Number) row[2]).longValue(), Long::sum);
+        }
+        viewsByMonth.forEach((bucket, count) -> counters.add(counter(StatsMetric.VIEW_MONTH, bucket, count)));
+        counters.add(counter(StatsMetric.FAVORITE_TOTAL, TOTAL_BUCKET, favoriteRepository.count()));
+
+        statsCounterRepository.deleteAllInBatch();
+        statsCounterRepository.saveAll(counters);
+        contentVersionService.changed(Scope.STATS);
+        log.info("Rebuilt {} stats counters", counters.size());
+    }
+
+    public List<StatsCounter> findAll() {
+        return statsCounterRepository.findAll();
+    }
+
+    public static String categoryBucket(Integer categoryId) {
+        return categoryId != null ? categoryId.toString() : NO_CATEGORY_BUCKET;
+    }
+
+    public static String monthBucket(LocalDateTime dateTime) {
+        return String.format("%04d-%02d", dateTime.getYear(), dateTime.getMonthValue());
+    }
+
+    private static String monthBucket(Object[] row) {
+        return String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    private static String roleBucket(String roleName) {
+        return roleName != null ? roleName : NO_ROLE_BUCKET;
+    }
+
+    private void increment(StatsMetric metric, String bucket, long delta) {
+        if (delta != 0) {
+            statsCounterRepository.increment(metric.name(), bucket, delta);
+            contentVersionService.changed(Scope.STATS);
+        }
+    }
+
+    private static StatsCounter counter(StatsMetric metric, String bucket, Object value) {
+        return new StatsCounter(new StatsCounterId(metric, bucket), ((Number) value).longValue());
+    }
+}
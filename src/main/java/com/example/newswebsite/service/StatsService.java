@@ -1,30 +1,22 @@
 package com.example.newswebsite.service;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.example.newswebsite.domain.Article;
-import com.example.newswebsite.domain.Comment;
-import com.example.newswebsite.domain.Favorite;
-import com.example.newswebsite.domain.ReadingHistory;
-import com.example.newswebsite.domain.User;
+import com.example.newswebsite.domain.Category;
+import com.example.newswebsite.domain.StatsCounter;
 import com.example.newswebsite.domain.response.WebsiteStatsDTO;
-import com.example.newswebsite.domain.response.WebsiteStatsDTO.ActiveAuthor;
 import com.example.newswebsite.domain.response.WebsiteStatsDTO.MonthlyStats;
-import com.example.newswebsite.domain.response.WebsiteStatsDTO.PopularArticle;
-import com.example.newswebsite.repository.ArticleRepository;
-import com.example.newswebsite.repository.CommentRepository;
-import com.example.newswebsite.repository.FavoriteRepository;
-import com.example.newswebsite.repository.ReadingHistoryRepository;
-import com.example.newswebsite.repository.UserRepository;
+import com.example.newswebsite.repository.CategoryRepository;
 import com.example.newswebsite.util.ArticleStatus;
+import com.example.newswebsite.util.StatsMetric;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,42 +26,58 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class StatsService {
 
-    private final ArticleRepository articleRepository;
-    private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
-    private final ReadingHistoryRepository readingHistoryRepository;
-    private final FavoriteRepository favoriteRepository;
+    private final CategoryRepository categoryRepository;
+    private final StatsCounterService statsCounterService;
+    private final RankingService rankingService;
+
+    @Value("${stats.ranking.limit:5}")
+    private int rankingLimit;
+
+    // Số ngày gần nhất dùng để xếp hạng, để trống để tính toàn bộ thời gian
+    @Value("${stats.ranking.days:#{null}}")
+    private Integer rankingDays;
 
     public WebsiteStatsDTO getWebsiteStats() {
         log.info("Getting website statistics");
 
         WebsiteStatsDTO stats = new WebsiteStatsDTO();
 
+        // Đọc toàn bộ bộ đếm đã được cộng dồn (số dòng ~ số danh mục + số tháng)
+        Map<StatsMetric, Map<String, Long>> counters = new EnumMap<>(StatsMetric.class);
+        for (StatsCounter counter : statsCounterService.findAll()) {
+            counters.computeIfAbsent(counter.getId().getMetric(), metric -> new HashMap<>())
+                    .put(counter.getId().getBucket(), counter.getCounterValue());
+        }
+
         // Thống kê bài viết
-        stats.setTotalArticles(articleRepository.count());
-        stats.setArticlesByStatus(getArticlesByStatus());
-        stats.setArticlesByCategory(getArticlesByCategory());
+        Map<String, Long> articlesByStatus = getArticlesByStatus(counters.get(StatsMetric.ARTICLE_STATUS));
+        stats.setTotalArticles(sum(articlesByStatus));
+        stats.setArticlesByStatus(articlesByStatus);
+        stats.setArticlesByCategory(getArticlesByCategory(counters.get(StatsMetric.ARTICLE_CATEGORY)));
 
         // Thống kê người dùng
-        stats.setTotalUsers(userRepository.count());
-        stats.setUsersByRole(getUsersByRole());
+        Map<String, Long> usersByRole = nonEmpty(counters.get(StatsMetric.USER_ROLE));
+        stats.setTotalUsers(sum(usersByRole));
+        stats.setUsersByRole(usersByRole);
 
         // Thống kê bình luận
-        stats.setTotalComments(commentRepository.count());
-        stats.setCommentsByMonth(getCommentsByMonth());
+        Map<String, Long> commentsByMonth = nonEmpty(counters.get(StatsMetric.COMMENT_MONTH));
+        stats.setTotalComments(sum(commentsByMonth));
+        stats.setCommentsByMonth(toMonthlyStats(commentsByMonth));
 
         // Thống kê lượt xem
-        stats.setTotalViews(readingHistoryRepository.count());
-        stats.setViewsByMonth(getViewsByMonth());
+        Map<String, Long> viewsByMonth = nonEmpty(counters.get(StatsMetric.VIEW_MONTH));
+        stats.setTotalViews(sum(viewsByMonth));
+        stats.setViewsByMonth(toMonthlyStats(viewsByMonth));
 
         // Thống kê yêu thích
-        stats.setTotalFavorites(favoriteRepository.count());
+        stats.setTotalFavorites(sum(nonEmpty(counters.get(StatsMetric.FAVORITE_TOTAL))));
 
         // Bài viết phổ biến
-        stats.setPopularArticles(getPopularArticles());
+        stats.setPopularArticles(rankingService.getPopularArticles(rankingLimit, rankingDays));
 
         // Tác giả tích cực
-        stats.setActiveAuthors(getActiveAuthors());
+        stats.setActiveAuthors(rankingService.getActiveAuthors(rankingLimit, rankingDays));
 
         // Thời gian cập nhật
         stats.setLastUpdated(LocalDateTime.now());
@@ -77,81 +85,52 @@ public class StatsService {
         return stats;
     }
 
-    private Map<String, Long> getArticlesByStatus() {
+    /**
+     * Tính lại các bộ đếm thống kê từ dữ liệu gốc
+     */
+    public void rebuildCounters() {
+        statsCounterService.rebuild();
+    }
+
+    private Map<String, Long> getArticlesByStatus(Map<String, Long> counters) {
         Map<String, Long> result = new HashMap<>();
         for (ArticleStatus status : ArticleStatus.values()) {
-            long count = articleRepository.countByStatus(status);
-            result.put(status.name(), count);
+            result.put(status.name(), counters != null ? counters.getOrDefault(status.name(), 0L) : 0L);
         }
         return result;
     }
 
-    private Map<String, Long> getArticlesByCategory() {
-        return articleRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        article -> article.getCategory() != null ? article.getCategory().getName() : "Uncategorized",
-                        Collectors.counting()));
-    }
-
-    private Map<String, Long> getUsersByRole() {
-        return userRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        user -> user.getRole().getRoleName(),
-                        Collectors.counting()));
-    }
-
-    private List<MonthlyStats> getCommentsByMonth() {
-        return commentRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        comment -> comment.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.counting()))
-                .entrySet().stream()
-                .map(entry -> new MonthlyStats(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
+    private Map<String, Long> getArticlesByCategory(Map<String, Long> counters) {
+        Map<String, Long> result = new HashMap<>();
+        if (counters == null || counters.isEmpty()) {
+            return result;
+        }
+        Map<String, String> categoryNames = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(
+                        category -> StatsCounterService.categoryBucket(category.getCategoryId()),
+                        Category::getName));
+        counters.forEach((bucket, count) -> {
+            if (count > 0) {
+                String name = categoryNames.getOrDefault(bucket, "Uncategorized");
+                result.merge(name, count, Long::sum);
+            }
+        });
+        return result;
     }
 
-    private List<MonthlyStats> getViewsByMonth() {
-        return readingHistoryRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        view -> view.getViewedAt().format(DateTimeFormatter.ofPattern("yyyy-MM")),
-                        Collectors.counting()))
-                .entrySet().stream()
+    private List<MonthlyStats> toMonthlyStats(Map<String, Long> counters) {
+        return counters.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.comparingByKey())
                 .map(entry -> new MonthlyStats(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
     }
 
-    private List<PopularArticle> getPopularArticles() {
-        return articleRepository.findAll().stream()
-                .map(article -> {
-                    long viewCount = readingHistoryRepository.countByArticleArticleId(article.getArticleId());
-                    long commentCount = commentRepository.countByArticleArticleId(article.getArticleId());
-                    return new PopularArticle(
-                            article.getArticleId(),
-                            article.getTitle(),
-                            viewCount,
-                            commentCount);
-                })
-                .sorted((a1, a2) -> Long.compare(a2.getViewCount(), a1.getViewCount()))
-                .limit(5)
-                .collect(Collectors.toList());
+    private static Map<String, Long> nonEmpty(Map<String, Long> counters) {
+        return counters != null ? counters : new HashMap<>();
     }
 
-    private List<ActiveAuthor> getActiveAuthors() {
-        return userRepository.findAll().stream()
-                .map(author -> {
-                    long articleCount = articleRepository.countByAuthorGoogleId(author.getGoogleId());
-                    long totalViews = articleRepository.findByAuthorGoogleId(author.getGoogleId()).stream()
-                            .mapToLong(
-                                    article -> readingHistoryRepository.countByArticleArticleId(article.getArticleId()))
-                            .sum();
-                    return new ActiveAuthor(
-                            author.getGoogleId(),
-                            author.getName(),
-                            articleCount,
-                            totalViews);
-                })
-                .sorted((a1, a2) -> Long.compare(a2.getTotalViews(), a1.getTotalViews()))
-                .limit(5)
-                .collect(Collectors.toList());
+    private static long sum(Map<String, Long> counters) {
+        return counters.values().stream().mapToLong(Long::longValue).sum();
     }
 }
\ No newline at end of file
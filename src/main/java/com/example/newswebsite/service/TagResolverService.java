@@ -0,0 +1,268 @@
+package com.example.newswebsite.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.newswebsite.domain.Tag;
+import com.example.newswebsite.repository.TagRepository;
+import com.example.newswebsite.util.VietnameseTokenizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chuyển danh sách tên tag thành entity Tag với số câu lệnh cố định: tra từ
+ * điển tên → id trong bộ nhớ, các tên chưa biết được tìm bằng một truy vấn IN,
+ * tên chưa có trong DB được chèn bằng một câu INSERT nhiều dòng ON DUPLICATE
+ * KEY (an toàn khi nhiều người cùng tạo một tag), cuối cùng nạp entity bằng
+ * một truy vấn theo id.
+ *
+ * Khóa từ điển là {@link VietnameseTokenizer#collationKey}, khớp với collation
+ * utf8mb4_0900_ai_ci của unique index tags.name.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TagResolverService {
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AutocompleteService autocompleteService;
+    private final ContentVersionService contentVersionService;
+
+    @Value("${tags.resolver.max-entries:50000}")
+    private int maxEntries;
+
+    private final Map<String, Integer> idsByKey = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(this::warmUp, "tag-resolver-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Lấy các tag theo tên, tạo mới những tag chưa có. Tên rỗng bị bỏ qua, tên
+     * trùng (không phân biệt dấu, hoa thường) chỉ tính một lần.
+     */
+    public Set<Tag> resolve(Collection<String> names) {
+        Map<String, String> requested = normalize(names);
+        if (requested.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Map<String, Integer> ids = resolveKeys(requested);
+        List<Tag> tags = tagRepository.findAllById(ids.values());
+        if (tags.size() < new HashSet<>(ids.values()).size()) {
+            Set<Integer> found = new HashSet<>();
+            tags.forEach(tag -> found.add(tag.getTagId()));
+            Map<String, Integer> refreshed = refreshStale(requested, ids, found);
+            tags = new ArrayList<>(tags);
+            tags.addAll(tagRepository.findAllById(refreshed.values()));
+        }
+        return new HashSet<>(tags);
+    }
+
+    /**
+     * Như resolve nhưng chỉ lấy id, không nạp entity (dùng khi ghi bằng JDBC)
+     *
+     * @return Map tên (đã trim) → id của tag
+     */
+    public Map<String, Integer> resolveIds(Collection<String> names) {
+        Map<String, String> requested = normalize(names);
+        if (requested.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, Integer> ids = resolveKeys(requested);
+        Set<Integer> existing = new HashSet<>(tagRepository.findExistingIds(ids.values()));
+        if (existing.size() < new HashSet<>(ids.values()).size()) {
+            ids.putAll(refreshStale(requested, ids, existing));
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                Integer id = ids.get(key(name));
+                if (id != null) {
+                    result.put(name.trim(), id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tag vừa bị xóa thì bỏ khỏi từ điển
+     */
+    public void tagDeleted(Tag tag) {
+        idsByKey.remove(key(tag.getName()), tag.getTagId());
+    }
+
+    /**
+     * Tag vừa đổi tên thì tên cũ không còn trỏ tới tag đó
+     */
+    public void tagRenamed(Integer tagId, String oldName) {
+        idsByKey.remove(key(oldName), tagId);
+    }
+
+    private Map<String, Integer> resolveKeys(Map<String, String> requested) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        requested.forEach((key, name) -> {
+            Integer id = idsByKey.get(key);
+            if (id != null) {
+                ids.put(key, id);
+            } else {
+                misses.add(key);
+            }
+        });
+        if (!misses.isEmpty()) {
+            ids.putAll(lookup(requested, misses));
+        }
+        return ids;
+    }
+
+    /**
+     * Từ điển còn id của tag đã bị xóa ở nơi khác: bỏ các id không còn trong DB
+     * và tra lại (hoặc tạo lại) các tên đó
+     *
+     * @return Khóa → id mới của các tên được tra lại
+     */
+    private Map<String, Integer> refreshStale(Map<String, String> requested, Map<String, Integer> ids,
+            Set<Integer> existing) {
+        List<String> stale = new ArrayList<>();
+        ids.forEach((key, id) -> {
+            if (!existing.contains(id)) {
+                idsByKey.remove(key, id);
+                stale.add(key);
+            }
+        });
+        return lookup(requested, stale);
+    }
+
+    /**
+     * Tìm id cho các tên chưa có trong từ điển, chèn những tên chưa có trong DB
+     */
+    private Map<String, Integer> lookup(Map<String, String> requested, List<String> keys) {
+        Map<String, Integer> found = new HashMap<>();
+        List<String> names = keys.stream().map(requested::get).toList();
+        collect(tagRepository.findIdsAndNamesByNameIn(names), keys, found);
+
+        List<String> missing = names.stream().filter(name -> !found.containsKey(key(name))).toList();
+        if (missing.isEmpty()) {
+            remember(found);
+            return found;
+        }
+
+        insertIgnoringDuplicates(missing);
+        Map<String, Integer> created = new HashMap<>();
+        collect(tagRepository.findIdsAndNamesByNameIn(missing), keys, created);
+        for (String name : missing) {
+            if (!created.containsKey(key(name))) {
+                // Collation của DB coi hai tên là một nhưng khóa thì không (ví dụ "ß" và "ss")
+                tagRepository.findByName(name).ifPresent(tag -> created.put(key(name), tag.getTagId()));
+            }
+        }
+        found.putAll(created);
+        log.debug("Inserted {} new tags", created.size());
+
+        // Tag mới chỉ đưa vào từ điển và gợi ý tìm kiếm sau khi transaction commit
+        Runnable publish = () -> {
+            remember(found);
+            if (!created.isEmpty()) {
+                tagRepository.findAllById(created.values()).forEach(autocompleteService::tagCreated);
+                contentVersionService.changed(ContentVersionService.Scope.TAGS);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+        return found;
+    }
+
+    private void insertIgnoringDuplicates(List<String> names) {
+        StringBuilder sql = new StringBuilder("INSERT INTO tags (name) VALUES ");
+        for (int i = 0; i < names.size(); i++) {
+            sql.append(i == 0 ? "(?)" : ", (?)");
+        }
+        // Tên đã được luồng khác chèn trước thì giữ nguyên dòng cũ
+        sql.append(" ON DUPLICATE KEY UPDATE name = name");
+        jdbcTemplate.update(sql.toString(), names.toArray());
+    }
+
+    private void collect(List<Object[]> rows, List<String> keys, Map<String, Integer> target) {
+        Set<String> wanted = new HashSet<>(keys);
+        for (Object[] row : rows) {
+            String key = key((String) row[1]);
+            if (wanted.contains(key)) {
+                target.put(key, (Integer) row[0]);
+            }
+        }
+    }
+
+    private void remember(Map<String, Integer> entries) {
+        if (idsByKey.size() + entries.size() > maxEntries) {
+            // Từ điển chỉ là cache, đầy thì bắt đầu lại
+            idsByKey.clear();
+        }
+        idsByKey.putAll(entries);
+    }
+
+    private void warmUp() {
+        try {
+            Map<String, Integer> entries = new HashMap<>();
+            for (Object[] row : tagRepository.findAllIdsAndNames()) {
+                entries.put(key((String) row[1]), (Integer) row[0]);
+                if (entries.size() >= maxEntries) {
+                    break;
+                }
+            }
+            idsByKey.putAll(entries);
+            log.info("Loaded {} tags into tag resolver", entries.size());
+        } catch (RuntimeException e) {
+            // Từ điển sẽ được điền dần khi resolve
+            log.warn("Failed to warm up tag resolver: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, String> normalize(Collection<String> names) {
+        if (names == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                String trimmed = name.trim();
+                result.putIfAbsent(key(trimmed), trimmed);
+            }
+        }
+        return result;
+    }
+
+    private static String key(String name) {
+        return VietnameseTokenizer.collationKey(name.trim());
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.newswebsite.domain.Tag;
 import com.example.newswebsite.repository.ArticleRepository;
 import com.example.newswebsite.repository.TagRepository;
+import com.example.newswebsite.service.ContentVersionService.Scope;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,10 @@ import lombok.extern.slf4j.Slf4j;
 public class TagService {
     private final TagRepository tagRepository;
     private final ArticleRepository articleRepository;
+    private final ArticleCacheService articleCacheService;
+    private final AutocompleteService autocompleteService;
+    private final TagResolverService tagResolverService;
+    private final ContentVersionService contentVersionService;
 
     public List<Tag> getAllTags() {
         log.info("Getting all tags");
@@ -28,7 +33,10 @@ public class TagService {
         log.info("Creating new tag: {}", name);
         Tag tag = new Tag();
         tag.setName(name);
-        return tagRepository.save(tag);
+        Tag saved = tagRepository.save(tag);
+        autocompleteService.tagCreated(saved);
+        contentVersionService.changed(Scope.TAGS);
+        return saved;
     }
 
     @Transactional
@@ -41,13 +49,37 @@ public class TagService {
         tag.getArticles().forEach(article -> {
             article.getTags().remove(tag);
             articleRepository.save(article);
+            articleCacheService.evict(article.getArticleId());
         });
 
         // Xóa tag
         tagRepository.delete(tag);
+        autocompleteService.tagDeleted(tagId);
+        tagResolverService.tagDeleted(tag);
+        contentVersionService.changed(Scope.TAGS);
     }
 
+    /**
+     * Lưu tag mới hoặc đổi tên tag. Tên tag nằm trong ArticleDTO đã cache nên đổi
+     * tên thì xóa cache bài viết, như khi sửa danh mục.
+     */
+    @Transactional
     public Tag saveTag(Tag tag) {
-        return tagRepository.save(tag);
+        // Lấy tên cũ trước khi save, entity đang quản lý sẽ nhận tên mới khi merge
+        String oldName = tag.getTagId() != null
+                ? tagRepository.findById(tag.getTagId()).map(Tag::getName).orElse(null)
+                : null;
+        Tag saved = tagRepository.save(tag);
+        if (oldName == null) {
+            autocompleteService.tagCreated(saved);
+        } else if (!oldName.equals(saved.getName())) {
+            log.info("Renamed tag {} from {} to {}", saved.getTagId(), oldName, saved.getName());
+            tagResolverService.tagRenamed(saved.getTagId(), oldName);
+            autocompleteService.tagDeleted(saved.getTagId());
+            autocompleteService.tagCreated(saved);
+            articleCacheService.clear();
+        }
+        contentVersionService.changed(Scope.TAGS);
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.newswebsite.service;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.newswebsite.config.AppConfig;
+import com.example.newswebsite.domain.User;
+import com.example.newswebsite.repository.UserRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache thông tin định danh người dùng theo googleId (userId, vai trò, tên,
+ * avatar) để các thao tác ghi không phải tải cả entity User và Role ở mỗi
+ * request. Được xóa khi UserService thay đổi vai trò hoặc thông tin người dùng.
+ */
+@Service
+@Slf4j
+public class UserIdentityService {
+
+    @Getter
+    @AllArgsConstructor
+    public static class UserIdentity {
+        private final Integer userId;
+        private final String googleId;
+        private final String roleName;
+        private final String name;
+        private final String avatarUrl;
+    }
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+
+    public UserIdentityService(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(AppConfig.CACHE_USERS);
+    }
+
+    /**
+     * Lấy định danh người dùng, nạp bằng một truy vấn chỉ lấy các cột cần thiết
+     * nếu chưa có trong cache
+     *
+     * @return Định danh, hoặc null nếu không có người dùng với googleId này
+     */
+    public UserIdentity get(String googleId) {
+        if (googleId == null) {
+            return null;
+        }
+        UserIdentity cached = cache.get(googleId, UserIdentity.class);
+        if (cached != null) {
+            return cached;
+        }
+        List<Object[]> rows = userRepository.findIdentityByGoogleId(googleId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        UserIdentity identity = new UserIdentity((Integer) row[0], (String) row[1], (String) row[2],
+                (String) row[3], (String) row[4]);
+        cache.put(googleId, identity);
+        return identity;
+    }
+
+    /**
+     * Tham chiếu JPA tới User (không truy vấn DB) để gán vào quan hệ của entity
+     * khác. Định danh null (googleId không tồn tại) báo lỗi như khi tìm User
+     * trực tiếp.
+     */
+    public User getReference(UserIdentity identity) {
+        if (identity == null) {
+            throw new RuntimeException("User not found");
+        }
+        return userRepository.getReferenceById(identity.getUserId());
+    }
+
+    /**
+     * Xóa người dùng khỏi cache. Trong transaction thì xóa thêm một lần sau khi
+     * commit để request song song không nạp lại dữ liệu cũ.
+     */
+    public void evict(String googleId) {
+        if (googleId == null) {
+            return;
+        }
+        cache.evict(googleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(googleId);
+                }
+            });
+        }
+        log.debug("Evicted user {} from identity cache", googleId);
+    }
+}
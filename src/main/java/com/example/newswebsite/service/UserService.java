@@ -21,6 +21,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final StatsCounterService statsCounterService;
+    private final UserIdentityService userIdentityService;
 
     public User findOrCreateUser(String googleId, String name, String email, String avatarUrl) {
         User user = userRepository.findByGoogleId(googleId);
@@ -42,12 +44,14 @@ public class UserService {
             user.setCreatedDate(LocalDateTime.now());
             user.setEditor(false);
             userRepository.save(user);
+            statsCounterService.userCreated(role.getRoleName());
         }
         return user;
     }
 
     public User saveOrUpdateUser(OidcUser oidcUser) {
         String googleId = oidcUser.getSubject();
+        userIdentityService.evict(googleId);
         Optional<User> existingUser = Optional.ofNullable(userRepository.findByGoogleId(googleId));
 
         if (existingUser.isPresent()) {
@@ -71,7 +75,9 @@ public class UserService {
         user.setEditorRequestStatus(EditorRequestStatus.NONE);
         user.setCreatedDate(LocalDateTime.now());
         user.setEditor(false);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        statsCounterService.userCreated(role.getRoleName());
+        return saved;
     }
 
     public User requestEditorRole(String googleId) {
@@ -98,6 +104,7 @@ public class UserService {
         }
 
         user.setEditorRequestStatus(EditorRequestStatus.APPROVED);
+        String oldRoleName = user.getRole() != null ? user.getRole().getRoleName() : null;
 
         // Create role editor if not existing
         Optional<Role> role = roleRepository.findByRoleName("editor");
@@ -112,7 +119,10 @@ public class UserService {
         }
 
         user.setEditor(true); // Cấp quyền editor
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userIdentityService.evict(googleId);
+        statsCounterService.userRoleChanged(oldRoleName, saved.getRole().getRoleName());
+        return saved;
     }
 
     public User findByGoogleId(String googleId) {
@@ -156,6 +166,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
 
         // Cập nhật vai trò
+        String oldRoleName = targetUser.getRole() != null ? targetUser.getRole().getRoleName() : null;
         targetUser.setRole(newRole);
 
         // Cập nhật trạng thái isEditor nếu cần
@@ -168,6 +179,9 @@ public class UserService {
         }
 
         // Lưu thay đổi
-        return userRepository.save(targetUser);
+        User saved = userRepository.save(targetUser);
+        userIdentityService.evict(targetGoogleId);
+        statsCounterService.userRoleChanged(oldRoleName, newRole.getRoleName());
+        return saved;
     }
 }
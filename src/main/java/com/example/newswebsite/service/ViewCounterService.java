@@ -0,0 +1,144 @@
+package com.example.newswebsite.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Đếm lượt xem bài viết trong bộ nhớ (không khóa) và định kỳ cộng dồn phần
+ * chênh lệch vào cột articles.view_count và bảng article_view_daily (theo ngày
+ * ghi xuống) trong cùng transaction. Đây là nguồn lượt xem duy nhất của điểm
+ * nổi bật và xếp hạng, gồm cả lượt xem của khách chưa đăng nhập.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCounterService {
+
+    private static final String UPDATE_SQL = "UPDATE articles SET view_count = view_count + ? WHERE article_id = ?";
+
+    // Bài viết vừa bị xóa thì không chèn gì (thay vì lỗi khóa ngoại làm hỏng cả lô)
+    private static final String DAILY_SQL = "INSERT INTO article_view_daily (article_id, view_date, view_count) "
+            + "SELECT * FROM (SELECT article_id, ? AS view_date, ? AS view_count FROM articles WHERE article_id = ?) AS d "
+            + "ON DUPLICATE KEY UPDATE view_count = article_view_daily.view_count + d.view_count";
+
+    /**
+     * Bộ đếm của một bài viết: tổng lượt xem ghi nhận từ khi khởi động và phần đã
+     * ghi xuống DB
+     */
+    private static class ViewCounter {
+        private final LongAdder recorded = new LongAdder();
+        private final AtomicLong flushed = new AtomicLong();
+
+        long pending() {
+            return recorded.sum() - flushed.get();
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, ViewCounter> counters = new ConcurrentHashMap<>();
+
+    public void increment(Integer articleId) {
+        if (articleId == null) {
+            return;
+        }
+        ViewCounter counter = counters.get(articleId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(articleId, id -> new ViewCounter());
+        }
+        counter.recorded.increment();
+    }
+
+    /**
+     * Số lượt xem đã ghi nhận nhưng chưa được ghi xuống DB
+     */
+    public long getPending(Integer articleId) {
+        ViewCounter counter = counters.get(articleId);
+        return counter != null ? Math.max(counter.pending(), 0) : 0;
+    }
+
+    /**
+     * Lượt xem hiện tại từ giá trị view_count vừa đọc từ DB
+     */
+    public long getViewCount(Integer articleId, long persisted) {
+        return persisted + getPending(articleId);
+    }
+
+    /**
+     * Phần lượt xem không do instance này ghi xuống (dùng cho DTO được cache lâu
+     * hơn chu kỳ flush). Kết hợp với {@link #getViewCountFromBaseline}.
+     */
+    public long getBaseline(Integer articleId, long persisted) {
+        ViewCounter counter = counters.get(articleId);
+        return counter != null ? persisted - counter.flushed.get() : persisted;
+    }
+
+    public long getViewCountFromBaseline(Integer articleId, long baseline) {
+        ViewCounter counter = counters.get(articleId);
+        return counter != null ? baseline + counter.recorded.sum() : baseline;
+    }
+
+    @Scheduled(fixedDelayString = "${article.view-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> deltas = new ArrayList<>();
+        List<ViewCounter> flushing = new ArrayList<>();
+        counters.forEach((articleId, counter) -> {
+            long delta = counter.pending();
+            if (delta > 0) {
+                deltas.add(new Object[] { delta, articleId });
+                flushing.add(counter);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        List<Object[]> daily = new ArrayList<>(deltas.size());
+        for (Object[] delta : deltas) {
+            daily.add(new Object[] { today, delta[0], delta[1] });
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, deltas);
+                jdbcTemplate.batchUpdate(DAILY_SQL, daily);
+            });
+            // Lỗi thì không cộng flushed, phần chênh lệch sẽ được ghi ở lần sau
+            for (int i = 0; i < flushing.size(); i++) {
+                flushing.get(i).flushed.addAndGet((Long) deltas.get(i)[0]);
+            }
+            log.debug("Flushed view counts for {} articles", deltas.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Failed to flush view counts for {} articles: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Bài viết đã bị xóa thì bỏ các lượt xem chưa ghi
+     */
+    public void discard(Integer articleId) {
+        counters.remove(articleId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.newswebsite.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Vị trí tiếp tục của phân trang keyset: giá trị cột sắp xếp (createdAt hoặc
+ * updatedAt) và articleId của bài cuối cùng trên trang trước. Được mã hóa
+ * base64 để client chỉ coi đây là chuỗi mờ (opaque).
+ */
+@Getter
+@AllArgsConstructor
+public final class FeedCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime sortValue;
+    private final int articleId;
+
+    public String encode() {
+        String raw = sortValue.toString() + SEPARATOR + articleId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Giải mã cursor từ client
+     *
+     * @throws IllegalArgumentException nếu cursor không hợp lệ
+     */
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
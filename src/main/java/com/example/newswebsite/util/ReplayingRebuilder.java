@@ -0,0 +1,118 @@
+package com.example.newswebsite.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Giữ một cấu trúc dữ liệu trong bộ nhớ (chỉ mục, cây gợi ý) được dựng lại
+ * định kỳ từ DB. Bản mới được dựng ngoài khóa trong khi bản cũ vẫn phục vụ;
+ * các thay đổi xảy ra trong lúc dựng được ghi lại và áp dụng lại lên bản mới
+ * trước khi đổi.
+ *
+ * Cập nhật (Consumer) phải áp dụng được nhiều lần lên các bản khác nhau.
+ */
+@Slf4j
+public class ReplayingRebuilder<T> {
+
+    private final String name;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private T current;
+    // Các thay đổi xảy ra trong lúc dựng lại, null khi không dựng
+    private List<Consumer<T>> replay;
+    private volatile boolean ready;
+
+    public ReplayingRebuilder(String name, T initial) {
+        this.name = name;
+        this.current = initial;
+    }
+
+    /**
+     * @return true nếu đã dựng thành công ít nhất một lần
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Đọc bản hiện tại dưới khóa đọc
+     */
+    public <R> R read(Function<T, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Áp dụng thay đổi lên bản hiện tại, và lên bản đang dựng nếu có
+     */
+    public void apply(Consumer<T> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(current);
+            if (replay != null) {
+                replay.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Dựng bản mới bằng builder (chạy ngoài khóa) rồi đổi. Bỏ qua nếu đang có lần
+     * dựng khác. Lỗi được ghi log và giữ nguyên bản cũ.
+     *
+     * @return Bản mới sau khi đổi, null nếu bỏ qua hoặc dựng lỗi
+     */
+    public T rebuild(Supplier<T> builder) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            lock.writeLock().lock();
+            try {
+                replay = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            T fresh = builder.get();
+
+            lock.writeLock().lock();
+            try {
+                replay.forEach(update -> update.accept(fresh));
+                current = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return fresh;
+        } catch (RuntimeException e) {
+            log.error("Failed to build {}: {}", name, e.getMessage(), e);
+            return null;
+        } finally {
+            // Dừng ghi nhận thay đổi cả khi dựng lỗi, nếu không replay sẽ lớn mãi
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+}
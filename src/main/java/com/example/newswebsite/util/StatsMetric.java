@@ -0,0 +1,13 @@
+package com.example.newswebsite.util;
+
+/**
+ * Các nhóm bộ đếm thống kê được lưu trong bảng stats_counters
+ */
+public enum StatsMetric {
+    ARTICLE_STATUS,
+    ARTICLE_CATEGORY,
+    USER_ROLE,
+    COMMENT_MONTH,
+    VIEW_MONTH,
+    FAVORITE_TOTAL
+}
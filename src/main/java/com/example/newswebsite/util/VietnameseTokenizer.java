@@ -0,0 +1,64 @@
+package com.example.newswebsite.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tách từ cho văn bản tiếng Việt: bỏ thẻ HTML, chuyển chữ thường và bỏ dấu
+ * ("Thời sự" -> "thoi", "su") để tìm kiếm không phân biệt dấu
+ */
+public final class VietnameseTokenizer {
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&[a-zA-Z#0-9]+;");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private VietnameseTokenizer() {
+    }
+
+    /**
+     * Bỏ dấu và chuyển chữ thường, giữ nguyên các ký tự khác
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+
+    /**
+     * Khóa so sánh tên giống collation utf8mb4_0900_ai_ci của DB: chữ thường, bỏ
+     * dấu nhưng giữ "đ" vì collation coi "đ" và "d" là hai chữ khác nhau ("Đà
+     * Nẵng" và "Da Nang" là hai dòng)
+     */
+    public static String collationKey(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String plain = HTML_ENTITY.matcher(HTML_TAG.matcher(text).replaceAll(" ")).replaceAll(" ");
+        String folded = fold(plain);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
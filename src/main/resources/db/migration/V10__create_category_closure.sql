@@ -0,0 +1,22 @@
+-- Bảng bao đóng (closure table) của cây danh mục: mỗi cặp (tổ tiên, con cháu),
+-- kể cả cặp (danh mục, chính nó) với depth = 0. Được CategoryService cập nhật
+-- khi thêm hoặc đổi danh mục cha; xóa danh mục thì các dòng bị xóa theo FK.
+CREATE TABLE IF NOT EXISTS category_closure (
+  ancestor_id INT NOT NULL,
+  descendant_id INT NOT NULL,
+  depth INT NOT NULL,
+  PRIMARY KEY (ancestor_id, descendant_id),
+  KEY idx_category_closure_descendant (descendant_id, depth),
+  CONSTRAINT fk_category_closure_ancestor FOREIGN KEY (ancestor_id) REFERENCES categories (category_id) ON DELETE CASCADE,
+  CONSTRAINT fk_category_closure_descendant FOREIGN KEY (descendant_id) REFERENCES categories (category_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO category_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths (ancestor_id, descendant_id, depth) AS (
+  SELECT category_id, category_id, 0 FROM categories
+  UNION ALL
+  SELECT p.ancestor_id, c.category_id, p.depth + 1
+  FROM paths p JOIN categories c ON c.parent_id = p.descendant_id
+  WHERE p.depth < 32
+)
+SELECT ancestor_id, descendant_id, depth FROM paths;
@@ -0,0 +1,11 @@
+-- Âm tiết tiếng Việt thường chỉ có 2 ký tự (hà, mỹ, đà) nên MySQL phải chạy với
+-- innodb_ft_min_token_size = 2 (xem docker-compose.yml, mặc định là 3) và khớp
+-- với search.fulltext.min-token-size. Giá trị này chỉ áp dụng khi dựng chỉ mục,
+-- nên chỉ mục được dựng lại; chạy lại migration này nếu đổi cấu hình server sau đó.
+-- Danh sách stopword mặc định là tiếng Anh và chứa các từ 2 ký tự trùng với âm
+-- tiết tiếng Việt khi so sánh không dấu (an/ăn, la/là, to/tô), nên tắt cho chỉ mục.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE articles DROP INDEX ft_search;
+
+ALTER TABLE articles ADD FULLTEXT INDEX ft_search (title, summary, content);
@@ -0,0 +1,23 @@
+-- Lượt xem theo (bài viết, ngày) của mọi người đọc, kể cả khách chưa đăng nhập.
+-- ViewCounterService cộng vào cùng lúc với articles.view_count; điểm nổi bật và
+-- xếp hạng theo khoảng thời gian đọc từ đây nên khớp với lượt xem hiển thị.
+CREATE TABLE IF NOT EXISTS article_view_daily (
+  article_id INT NOT NULL,
+  view_date DATE NOT NULL,
+  view_count BIGINT NOT NULL,
+  PRIMARY KEY (article_id, view_date),
+  KEY idx_article_view_daily_date_article (view_date, article_id),
+  CONSTRAINT fk_article_view_daily_article FOREIGN KEY (article_id) REFERENCES articles (article_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Trước đây chỉ lượt xem của người đã đăng nhập được lưu theo ngày: dùng tạm
+-- làm số liệu cho các ngày trước khi có bảng này
+INSERT IGNORE INTO article_view_daily (article_id, view_date, view_count)
+SELECT v.article_id, v.view_date, SUM(v.views) FROM (
+  SELECT rh.article_id, DATE(rh.viewed_at) AS view_date, COUNT(*) AS views FROM reading_history rh
+  WHERE rh.article_id IS NOT NULL AND rh.viewed_at IS NOT NULL GROUP BY rh.article_id, DATE(rh.viewed_at)
+  UNION ALL
+  SELECT d.article_id, d.view_date, SUM(d.view_count) FROM reading_history_daily d GROUP BY d.article_id, d.view_date
+) v
+JOIN articles a ON a.article_id = v.article_id
+GROUP BY v.article_id, v.view_date;
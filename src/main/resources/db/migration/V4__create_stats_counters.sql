@@ -0,0 +1 @@
+CREATE TABLE IF NOT EXISTS stats_counters (metric VARCHAR(32) NOT NULL, bucket VARCHAR(64) NOT NULL, counter_value BIGINT NOT NULL DEFAULT 0, PRIMARY KEY (metric, bucket));
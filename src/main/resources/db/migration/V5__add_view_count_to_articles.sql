@@ -0,0 +1,5 @@
+ALTER TABLE articles ADD COLUMN view_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE articles a SET view_count = (SELECT COUNT(*) FROM reading_history rh WHERE rh.article_id = a.article_id);
+
+CREATE INDEX idx_articles_view_count ON articles (view_count);
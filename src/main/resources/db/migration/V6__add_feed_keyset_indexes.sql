@@ -0,0 +1,5 @@
+CREATE INDEX idx_articles_status_created ON articles (status, created_at, article_id);
+
+CREATE INDEX idx_articles_status_updated ON articles (status, updated_at, article_id);
+
+CREATE INDEX idx_articles_category_status_created ON articles (category_id, status, created_at, article_id);
@@ -0,0 +1,12 @@
+CREATE INDEX idx_reading_history_user_viewed ON reading_history (user_id, viewed_at);
+
+CREATE INDEX idx_reading_history_viewed_article ON reading_history (viewed_at, article_id);
+
+CREATE INDEX idx_comments_article_created ON comments (article_id, created_at);
+
+CREATE INDEX idx_comments_created_article ON comments (created_at, article_id);
+
+DELETE f1 FROM favorites f1 JOIN favorites f2
+    ON f1.user_id = f2.user_id AND f1.article_id = f2.article_id AND f1.favorite_id < f2.favorite_id;
+
+CREATE UNIQUE INDEX uk_favorites_user_article ON favorites (user_id, article_id);
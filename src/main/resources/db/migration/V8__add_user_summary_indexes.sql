@@ -0,0 +1,5 @@
+-- Lịch sử đọc gom theo bài viết của một người dùng: đọc hết từ index, không chạm bảng
+CREATE INDEX idx_reading_history_user_article_viewed ON reading_history (user_id, article_id, viewed_at);
+
+-- Danh sách yêu thích của một người dùng theo thời gian
+CREATE INDEX idx_favorites_user_favorited ON favorites (user_id, favorited_at);
@@ -0,0 +1,13 @@
+-- Lượt xem cũ được gom theo (người dùng, bài viết, ngày) bởi ReadingHistoryCompactionService
+CREATE TABLE IF NOT EXISTS reading_history_daily (
+  user_id INT NOT NULL,
+  article_id INT NOT NULL,
+  view_date DATE NOT NULL,
+  view_count INT NOT NULL,
+  last_viewed_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (user_id, article_id, view_date),
+  KEY idx_reading_history_daily_date_article (view_date, article_id),
+  KEY idx_reading_history_daily_article_date (article_id, view_date),
+  CONSTRAINT fk_reading_history_daily_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+  CONSTRAINT fk_reading_history_daily_article FOREIGN KEY (article_id) REFERENCES articles (article_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,27 @@
+-- Tùy chọn: chia reading_history theo tháng để bỏ dữ liệu cũ bằng DROP PARTITION
+-- thay vì DELETE. Chạy một lần khi bảo trì rồi bật
+-- reading-history.partitioning.enabled=true; ReadingHistoryCompactionService sẽ
+-- tự tạo partition cho các tháng tới và xóa partition cũ khi đã được gom hết.
+--
+-- MySQL không cho phép khóa ngoại trên bảng phân vùng và mọi unique key phải
+-- chứa cột phân vùng, nên bảng mất hai khóa ngoại (việc xóa theo bài viết vẫn do
+-- cascade của JPA đảm nhận) và khóa chính trở thành (history_id, viewed_at).
+
+ALTER TABLE reading_history
+  DROP FOREIGN KEY FK4em4jiifdpk82abt61fexga29,
+  DROP FOREIGN KEY FKpfwja8yqdf5cvrckaa7c340g2;
+
+UPDATE reading_history SET viewed_at = '1970-01-01 00:00:00' WHERE viewed_at IS NULL;
+
+ALTER TABLE reading_history
+  MODIFY viewed_at DATETIME(6) NOT NULL,
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (history_id, viewed_at);
+
+-- p_start chứa mọi dữ liệu trước tháng hiện tại (sửa ngày cho phù hợp), các
+-- partition pYYYYMM tiếp theo được tách dần từ pmax
+ALTER TABLE reading_history
+  PARTITION BY RANGE COLUMNS (viewed_at) (
+    PARTITION p_start VALUES LESS THAN ('2026-10-01 00:00:00'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+  );
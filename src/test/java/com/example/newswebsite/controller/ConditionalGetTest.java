@@ -0,0 +1,179 @@
+package com.example.newswebsite.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.newswebsite.config.AppConfig;
+import com.example.newswebsite.domain.Tag;
+import com.example.newswebsite.domain.response.ArticleDTO;
+import com.example.newswebsite.domain.response.WebsiteStatsDTO;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.repository.TagRepository;
+import com.example.newswebsite.service.ArticleCacheService;
+import com.example.newswebsite.service.ArticleService;
+import com.example.newswebsite.service.AutocompleteService;
+import com.example.newswebsite.service.CategoryService;
+import com.example.newswebsite.service.CategoryTreeService;
+import com.example.newswebsite.service.ContentVersionService;
+import com.example.newswebsite.service.JwtService;
+import com.example.newswebsite.service.RankingService;
+import com.example.newswebsite.service.StatsService;
+import com.example.newswebsite.service.TagResolverService;
+import com.example.newswebsite.service.TagService;
+
+/**
+ * GET có điều kiện: request mang ETag còn hiệu lực nhận 304 mà không gọi tới
+ * phần đọc dữ liệu, và thao tác ghi làm ETag cũ hết hiệu lực
+ */
+class ConditionalGetTest {
+
+    private static final Integer ARTICLE_ID = 7;
+
+    private final ArticleService articleService = mock(ArticleService.class);
+    private final CategoryTreeService categoryTreeService = mock(CategoryTreeService.class);
+    private final StatsService statsService = mock(StatsService.class);
+    private final TagRepository tagRepository = mock(TagRepository.class);
+
+    private ContentVersionService contentVersionService;
+    private ArticleCacheService articleCacheService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(AppConfig.CACHE_ARTICLE_VERSIONS,
+                AppConfig.CACHE_ARTICLES, AppConfig.CACHE_ARTICLE_SUMMARIES);
+        contentVersionService = new ContentVersionService(cacheManager);
+        ReflectionTestUtils.setField(contentVersionService, "maxAgeSeconds", 60L);
+        articleCacheService = new ArticleCacheService(cacheManager, contentVersionService);
+        TagService tagService = new TagService(tagRepository, mock(ArticleRepository.class), articleCacheService,
+                mock(AutocompleteService.class), mock(TagResolverService.class), contentVersionService);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(
+                        new ArticleController(articleService, categoryTreeService, contentVersionService,
+                                mock(JwtService.class)),
+                        new CategoryController(mock(CategoryService.class), categoryTreeService,
+                                contentVersionService),
+                        new TagController(tagService, contentVersionService),
+                        new StatsController(statsService, mock(RankingService.class), contentVersionService))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    void homeFeedIsNotReloadedForMatchingETag() throws Exception {
+        when(articleService.getArticlesForHome(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        String eTag = eTagOf("/api/articles/home");
+        mockMvc.perform(get("/api/articles/home").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(articleService, times(1)).getArticlesForHome(any(Pageable.class));
+    }
+
+    @Test
+    void articleUsesWeakETagAndStillCountsView() throws Exception {
+        AtomicInteger edits = new AtomicInteger();
+        when(articleService.getArticleById(eq(ARTICLE_ID), isNull())).thenAnswer(invocation -> {
+            LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 8, 0).plusMinutes(edits.get());
+            contentVersionService.articleLoaded(ARTICLE_ID, updatedAt);
+            return ArticleDTO.builder().articleId(ARTICLE_ID).title("Tin").updatedAt(updatedAt).viewCount(10)
+                    .build();
+        });
+
+        String eTag = eTagOf("/api/articles/" + ARTICLE_ID);
+        assertTrue(eTag.startsWith("W/"), eTag);
+        mockMvc.perform(get("/api/articles/" + ARTICLE_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(articleService, times(1)).getArticleById(eq(ARTICLE_ID), isNull());
+        verify(articleService).recordNotModifiedView(eq(ARTICLE_ID), isNull());
+
+        // Sửa bài viết: updatedAt đổi và cache bị evict nên ETag cũ không còn khớp
+        edits.incrementAndGet();
+        articleCacheService.evict(ARTICLE_ID);
+        mockMvc.perform(get("/api/articles/" + ARTICLE_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        verify(articleService, times(2)).getArticleById(eq(ARTICLE_ID), isNull());
+    }
+
+    @Test
+    void tagsAreNotReloadedUntilTagIsWritten() throws Exception {
+        when(tagRepository.findAll()).thenReturn(List.of());
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String eTag = eTagOf("/api/tags");
+        mockMvc.perform(get("/api/tags").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(tagRepository, times(1)).findAll();
+
+        mockMvc.perform(post("/api/tags").content("thoi-su")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tags").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        verify(tagRepository, times(2)).findAll();
+    }
+
+    @Test
+    void statsAreNotReloadedForMatchingETag() throws Exception {
+        when(statsService.getWebsiteStats()).thenReturn(new WebsiteStatsDTO());
+
+        String eTag = eTagOf("/api/stats");
+        mockMvc.perform(get("/api/stats").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(statsService, times(1)).getWebsiteStats();
+    }
+
+    @Test
+    void categoryTreesUseSnapshotETag() throws Exception {
+        CategoryTreeService.Snapshot snapshot = mock(CategoryTreeService.Snapshot.class);
+        when(snapshot.getETag()).thenReturn("\"tree-1\"");
+        when(snapshot.getBuiltAt()).thenReturn(1_700_000_000_000L);
+        when(snapshot.getTree()).thenReturn(List.of());
+        when(snapshot.getTwoLevelTree()).thenReturn(List.of());
+        when(categoryTreeService.snapshot()).thenReturn(snapshot);
+
+        for (String path : List.of("/api/articles/categories", "/api/categories/tree")) {
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, "\"tree-1\""))
+                    .andExpect(status().isNotModified());
+        }
+        verify(snapshot, times(0)).getTree();
+        verify(snapshot, times(0)).getTwoLevelTree();
+
+        when(snapshot.getETag()).thenReturn("\"tree-2\"");
+        mockMvc.perform(get("/api/categories/tree").header(HttpHeaders.IF_NONE_MATCH, "\"tree-1\""))
+                .andExpect(status().isOk());
+        verify(snapshot, times(1)).getTwoLevelTree();
+    }
+
+    private String eTagOf(String path) throws Exception {
+        return mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,528 @@
+package com.example.newswebsite.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.example.newswebsite.domain.Article;
+import com.example.newswebsite.util.ArticleStatus;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Chạy EXPLAIN cho các truy vấn của repository trên MySQL thật (Testcontainers)
+ * với schema news_web2.sql, các migration và dữ liệu mẫu. Test thất bại nếu
+ * một truy vấn phải quét toàn bộ bảng (type = ALL), hoặc truy vấn phân trang
+ * keyset phải filesort. Bị bỏ qua khi không có Docker.
+ *
+ * Mỗi trường hợp gọi phương thức repository thật qua Hibernate; câu SQL được
+ * ghi lại ở tầng JDBC kèm giá trị tham số rồi chạy lại với EXPLAIN, nên câu
+ * được kiểm tra luôn là câu Hibernate thực sự sinh ra (kể cả câu COUNT của
+ * Page). Tìm kiếm LIKE (chế độ dự phòng) và export luôn quét toàn bảng nên
+ * không nằm trong danh sách; truy vấn cố ý đọc toàn bảng ghi rõ bảng được phép.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    // news_web2.sql đã bao gồm các migration đến phiên bản này
+    private static final int BASELINE_VERSION = 2;
+
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("^V(\\d+)__");
+
+    private static final Integer USER_ID = 100007;
+    private static final String GOOGLE_ID = "seed-7";
+    private static final Integer ARTICLE_ID = 100007;
+    private static final Integer CATEGORY_ID = 100003;
+    // Danh mục cha (có danh mục con trong dữ liệu mẫu)
+    private static final Integer PARENT_CATEGORY_ID = 100001;
+    // PARENT_CATEGORY_ID và các danh mục con của nó trong dữ liệu mẫu
+    private static final List<Integer> PARENT_SUBTREE_IDS = List.of(100001, 100015, 100020);
+    private static final LocalDateTime CURSOR = LocalDateTime.now().minusMinutes(5000);
+    private static final LocalDateTime SINCE = LocalDateTime.now().minusDays(7);
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    // Các câu lệnh mà Hibernate đã thực thi trong trường hợp đang chạy
+    private static final List<CapturedStatement> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--lower-case-table-names=1", "--innodb-ft-min-token-size=2");
+
+    private static Connection connection;
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private static Repositories repositories;
+
+    @BeforeAll
+    static void setUpSchema() throws SQLException, IOException {
+        connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        createSchema(connection);
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+
+        repositories = new Repositories(createEntityManager(
+                new DriverManagerDataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())));
+    }
+
+    /**
+     * Tạo schema như production: news_web2.sql rồi các migration sau nó
+     */
+    static void createSchema(Connection connection) throws IOException {
+        ScriptUtils.executeSqlScript(connection,
+                new EncodedResource(new FileSystemResource("news_web2.sql"), StandardCharsets.UTF_8));
+
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(QueryPlanTest::version));
+        for (Resource migration : migrations) {
+            if (version(migration) > BASELINE_VERSION) {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(migration, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @AfterAll
+    static void closeConnection() throws SQLException {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.destroy();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    static Stream<Arguments> queries() {
+        return Stream.of(
+                // ArticleRepository
+                query("ArticleRepository.findSummariesByStatus",
+                        r -> r.articles.findSummariesByStatus(ArticleStatus.PUBLISHED,
+                                PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                query("ArticleRepository.findSummariesByCategory",
+                        r -> r.articles.findSummariesByCategory(CATEGORY_ID, ArticleStatus.PUBLISHED,
+                                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                query("ArticleRepository.findLatestSummaries",
+                        r -> r.articles.findLatestSummaries(ArticleStatus.PUBLISHED, PAGE)),
+                query("ArticleRepository.findSummariesByAuthor",
+                        r -> r.articles.findSummariesByAuthor(GOOGLE_ID, ArticleStatus.PUBLISHED,
+                                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                query("ArticleRepository.findSummariesByStatusSeek",
+                        r -> r.articles.findSummariesByStatusSeek(ArticleStatus.PUBLISHED, PageRequest.of(0, 21))),
+                query("ArticleRepository.findSummariesByStatusAfter",
+                        r -> r.articles.findSummariesByStatusAfter(ArticleStatus.PUBLISHED, CURSOR, 105000,
+                                PageRequest.of(0, 21))),
+                query("ArticleRepository.findSummariesByCategoriesSeek",
+                        r -> r.articles.findSummariesByCategoriesSeek(List.of(CATEGORY_ID), ArticleStatus.PUBLISHED,
+                                null, null, 21)),
+                query("ArticleRepository.findSummariesByCategoriesSeek (after cursor)",
+                        r -> r.articles.findSummariesByCategoriesSeek(List.of(CATEGORY_ID), ArticleStatus.PUBLISHED,
+                                CURSOR, 105000, 21)),
+                query("ArticleRepository.findSummariesByCategory (parent)",
+                        r -> r.articles.findSummariesByCategory(PARENT_CATEGORY_ID, ArticleStatus.PUBLISHED,
+                                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                query("ArticleRepository.countByCategoryAndStatus (parent)",
+                        r -> r.articles.countByCategoryAndStatus(PARENT_CATEGORY_ID, ArticleStatus.PUBLISHED)),
+                query("ArticleRepository.findLatestSummariesSeek",
+                        r -> r.articles.findLatestSummariesSeek(ArticleStatus.PUBLISHED, PageRequest.of(0, 21))),
+                query("ArticleRepository.findLatestSummariesAfter",
+                        r -> r.articles.findLatestSummariesAfter(ArticleStatus.PUBLISHED, CURSOR, 105000,
+                                PageRequest.of(0, 21))),
+                query("ArticleRepository.findSummariesByIds",
+                        r -> r.articles.findSummariesByIds(List.of(100001, 100002, 100003, 100500))),
+                query("ArticleRepository.findByArticleIdIn",
+                        r -> r.articles.findByArticleIdIn(List.of(100001, 100002, 100003))),
+                query("ArticleRepository.findTitlesByIds",
+                        r -> r.articles.findTitlesByIds(List.of(100001, 100002, 100003))),
+                query("ArticleRepository.countByStatus",
+                        r -> r.articles.countByStatus(ArticleStatus.PUBLISHED)),
+                query("ArticleRepository.countByCategoryAndStatus",
+                        r -> r.articles.countByCategoryAndStatus(CATEGORY_ID, ArticleStatus.PUBLISHED)),
+                query("ArticleRepository.countByAuthorGoogleId",
+                        r -> r.articles.countByAuthorGoogleId(GOOGLE_ID)),
+                query("ArticleRepository.countGroupByStatus",
+                        r -> r.articles.countGroupByStatus()),
+                query("ArticleRepository.countGroupByCategory",
+                        r -> r.articles.countGroupByCategory()),
+                query("ArticleRepository.countGroupByAuthorIds",
+                        r -> r.articles.countGroupByAuthorIds(List.of(100001, 100002))),
+                query("ArticleRepository.findTopByViewCount",
+                        r -> r.articles.findTopByViewCount(PageRequest.of(0, 10))),
+                // Xếp hạng tác giả mọi thời điểm: cộng view_count của toàn bộ bài viết
+                query("ArticleRepository.findTopAuthorsByViewCount",
+                        r -> r.articles.findTopAuthorsByViewCount(PageRequest.of(0, 10)), "articles"),
+                query("ArticleRepository.findTitlesWithViewCounts",
+                        r -> r.articles.findTitlesWithViewCounts(ArticleStatus.PUBLISHED, 110000,
+                                PageRequest.of(0, 500))),
+                query("ArticleRepository.findSearchDocuments",
+                        r -> r.articles.findSearchDocuments(ArticleStatus.PUBLISHED, 110000, PageRequest.of(0, 500))),
+                query("ArticleRepository.searchFullText",
+                        r -> r.articles.searchFullText("+seed*", ArticleStatus.PUBLISHED.name(), PAGE)),
+                query("ArticleRepository.searchFullTextByCategory",
+                        r -> r.articles.searchFullTextByCategory("+seed*", ArticleStatus.PUBLISHED.name(),
+                                CATEGORY_ID, PAGE)),
+
+                // ReadingHistoryRepository
+                query("ReadingHistoryRepository.findByUserGoogleIdOrderByViewedAtDesc",
+                        r -> r.readingHistory.findByUserGoogleIdOrderByViewedAtDesc(GOOGLE_ID)),
+                query("ReadingHistoryRepository.findSummariesByUserId",
+                        r -> r.readingHistory.findSummariesByUserId(USER_ID, PAGE)),
+                query("ReadingHistoryRepository.countByArticleArticleId",
+                        r -> r.readingHistory.countByArticleArticleId(ARTICLE_ID)),
+                query("ReadingHistoryRepository.countGroupByMonth",
+                        r -> r.readingHistory.countGroupByMonth()),
+                query("ReadingHistoryRepository.countGroupByMonthForArticle",
+                        r -> r.readingHistory.countGroupByMonthForArticle(ARTICLE_ID)),
+
+                // ArticleViewDailyRepository
+                query("ArticleViewDailyRepository.countGroupByArticleAndDay",
+                        r -> r.articleViewDaily.countGroupByArticleAndDay(ArticleStatus.PUBLISHED,
+                                SINCE.toLocalDate())),
+                query("ArticleViewDailyRepository.findTopArticlesByViews",
+                        r -> r.articleViewDaily.findTopArticlesByViews(SINCE.toLocalDate(), PageRequest.of(0, 10))),
+                query("ArticleViewDailyRepository.findTopAuthorsByViews",
+                        r -> r.articleViewDaily.findTopAuthorsByViews(SINCE.toLocalDate(), PageRequest.of(0, 10))),
+
+                // ReadingHistoryDailyRepository
+                // Dựng lại bộ đếm thống kê: cộng toàn bộ lượt xem đã gom theo ngày
+                query("ReadingHistoryDailyRepository.countGroupByMonth",
+                        r -> r.readingHistoryDaily.countGroupByMonth(), "reading_history_daily"),
+                query("ReadingHistoryDailyRepository.countGroupByMonthForArticle",
+                        r -> r.readingHistoryDaily.countGroupByMonthForArticle(ARTICLE_ID)),
+
+                // CommentRepository
+                query("CommentRepository.findByArticleArticleIdAndParentIsNull",
+                        r -> r.comments.findByArticleArticleIdAndParentIsNull(ARTICLE_ID)),
+                query("CommentRepository.findByArticle",
+                        r -> r.comments.findByArticle(r.entityManager.getReference(Article.class, ARTICLE_ID),
+                                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))),
+                query("CommentRepository.findThreadRowsByArticleId",
+                        r -> r.comments.findThreadRowsByArticleId(ARTICLE_ID)),
+                query("CommentRepository.findByParentId",
+                        r -> r.comments.findByParentId(5)),
+                query("CommentRepository.countByArticleArticleId",
+                        r -> r.comments.countByArticleArticleId(ARTICLE_ID)),
+                query("CommentRepository.countGroupByMonth",
+                        r -> r.comments.countGroupByMonth()),
+                query("CommentRepository.countGroupByMonthForArticle",
+                        r -> r.comments.countGroupByMonthForArticle(ARTICLE_ID)),
+                query("CommentRepository.countGroupByArticleAndDay",
+                        r -> r.comments.countGroupByArticleAndDay(ArticleStatus.PUBLISHED, SINCE)),
+                query("CommentRepository.countGroupByArticleIds",
+                        r -> r.comments.countGroupByArticleIds(List.of(100001, 100002, 100003), SINCE)),
+
+                // FavoriteRepository
+                query("FavoriteRepository.findByArticleArticleIdAndUserGoogleId",
+                        r -> r.favorites.findByArticleArticleIdAndUserGoogleId(100003, GOOGLE_ID)),
+                query("FavoriteRepository.findSummariesByUserId",
+                        r -> r.favorites.findSummariesByUserId(USER_ID, PAGE)),
+                query("FavoriteRepository.findByUserGoogleIdOrderByFavoritedAtDesc",
+                        r -> r.favorites.findByUserGoogleIdOrderByFavoritedAtDesc(GOOGLE_ID)),
+
+                // UserRepository
+                query("UserRepository.findByGoogleId",
+                        r -> r.users.findByGoogleId(GOOGLE_ID)),
+                query("UserRepository.findIdentityByGoogleId",
+                        r -> r.users.findIdentityByGoogleId(GOOGLE_ID)),
+                query("UserRepository.findIdsByGoogleIds",
+                        r -> r.users.findIdsByGoogleIds(List.of("seed-1", "seed-2", "seed-3"))),
+                query("UserRepository.findByUserIdIn",
+                        r -> r.users.findByUserIdIn(List.of(100001, 100002, 100003))),
+                query("UserRepository.countGroupByRole",
+                        r -> r.users.countGroupByRole()),
+
+                // TagRepository
+                query("TagRepository.findByName",
+                        r -> r.tags.findByName("seed-tag-7")),
+                query("TagRepository.findIdsAndNamesByNameIn",
+                        r -> r.tags.findIdsAndNamesByNameIn(List.of("seed-tag-1", "seed-tag-2", "seed-tag-3"))),
+                query("TagRepository.findExistingIds",
+                        r -> r.tags.findExistingIds(List.of(100001, 100002, 999))),
+                query("TagRepository.findAllIdsAndNames",
+                        r -> r.tags.findAllIdsAndNames()),
+                query("TagRepository.findNamesWithViewCounts",
+                        r -> r.tags.findNamesWithViewCounts(ArticleStatus.PUBLISHED)),
+
+                // CategoryRepository, CategoryClosureRepository
+                // Snapshot cây danh mục đọc toàn bộ danh mục (bảng nhỏ)
+                query("CategoryRepository.findAllForTree",
+                        r -> r.categories.findAllForTree(), "categories"),
+                query("CategoryRepository.findExistingIds",
+                        r -> r.categories.findExistingIds(List.of(100001, 100002, 999))),
+                query("CategoryRepository.findByParentCategoryId",
+                        r -> r.categories.findByParentCategoryId(CATEGORY_ID)),
+                query("CategoryClosureRepository.findParentIds",
+                        r -> r.categoryClosure.findParentIds(CATEGORY_ID)));
+    }
+
+    /**
+     * Các truy vấn phân trang keyset phải đọc theo thứ tự của chỉ mục và dừng
+     * sau LIMIT dòng; "Using filesort" nghĩa là MySQL đọc và sắp xếp mọi dòng
+     * khớp điều kiện. Feed danh mục cha là một câu UNION ALL: từng nhánh không
+     * được filesort, chỉ bảng tạm <unionN> (tối đa LIMIT dòng mỗi nhánh) được
+     * sắp xếp lại.
+     */
+    static Stream<Arguments> seeks() {
+        PageRequest window = PageRequest.of(0, 21);
+        return Stream.of(
+                seek("ArticleRepository.findSummariesByStatusSeek",
+                        r -> r.articles.findSummariesByStatusSeek(ArticleStatus.PUBLISHED, window)),
+                seek("ArticleRepository.findSummariesByStatusAfter",
+                        r -> r.articles.findSummariesByStatusAfter(ArticleStatus.PUBLISHED, CURSOR, 105000, window)),
+                seek("ArticleRepository.findLatestSummariesSeek",
+                        r -> r.articles.findLatestSummariesSeek(ArticleStatus.PUBLISHED, window)),
+                seek("ArticleRepository.findLatestSummariesAfter",
+                        r -> r.articles.findLatestSummariesAfter(ArticleStatus.PUBLISHED, CURSOR, 105000, window)),
+                seek("ArticleRepository.findSummariesByCategoriesSeek (parent subtree)",
+                        r -> r.articles.findSummariesByCategoriesSeek(PARENT_SUBTREE_IDS, ArticleStatus.PUBLISHED,
+                                null, null, 21)),
+                seek("ArticleRepository.findSummariesByCategoriesSeek (parent subtree, after cursor)",
+                        r -> r.articles.findSummariesByCategoriesSeek(PARENT_SUBTREE_IDS, ArticleStatus.PUBLISHED,
+                                CURSOR, 105000, 21)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void queryDoesNotScanWholeTable(String name, Consumer<Repositories> call, Set<String> allowedFullScans)
+            throws Exception {
+        for (CapturedStatement statement : capture(name, call)) {
+            List<String> fullScans = new ArrayList<>();
+            try (PreparedStatement explain = explain(statement); ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    // Bảng tạm (<derived2>, <union1,2>) không phải bảng thật
+                    if ("ALL".equals(plan.getString("type")) && table != null && !table.startsWith("<")
+                            && !allowedFullScans.contains(tableName(table, statement.sql))) {
+                        fullScans.add(table + " (rows=" + plan.getLong("rows") + ", extra="
+                                + plan.getString("Extra") + ")");
+                    }
+                }
+            }
+            if (!fullScans.isEmpty()) {
+                fail(name + " falls back to a full table scan on " + fullScans + "\n" + statement.sql);
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("seeks")
+    void keysetSeekDoesNotSort(String name, Consumer<Repositories> call) throws Exception {
+        for (CapturedStatement statement : capture(name, call)) {
+            try (PreparedStatement explain = explain(statement); ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String extra = plan.getString("Extra");
+                    String table = plan.getString("table");
+                    if (extra != null && extra.contains("Using filesort") && (table == null || !table.startsWith("<"))) {
+                        fail(name + " sorts " + plan.getLong("rows") + " rows of " + table
+                                + " instead of reading them in index order\n" + statement.sql);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<CapturedStatement> capture(String name, Consumer<Repositories> call) {
+        CAPTURED.clear();
+        try {
+            call.accept(repositories);
+        } finally {
+            repositories.entityManager.clear();
+        }
+        List<CapturedStatement> statements = List.copyOf(CAPTURED);
+        assertFalse(statements.isEmpty(), name + " did not execute any statement");
+        return statements;
+    }
+
+    // Câu EXPLAIN với cùng giá trị tham số như lúc Hibernate thực thi
+    private static PreparedStatement explain(CapturedStatement statement) throws Exception {
+        PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql);
+        for (Binding binding : statement.bindings) {
+            binding.method.invoke(explain, binding.args);
+        }
+        return explain;
+    }
+
+    /**
+     * Các repository thật, tạo bằng JpaRepositoryFactory trên một EntityManager
+     * nối với DataSource ghi lại câu lệnh
+     */
+    static class Repositories {
+        private final EntityManager entityManager;
+        private final ArticleRepository articles;
+        private final ReadingHistoryRepository readingHistory;
+        private final ReadingHistoryDailyRepository readingHistoryDaily;
+        private final ArticleViewDailyRepository articleViewDaily;
+        private final CommentRepository comments;
+        private final FavoriteRepository favorites;
+        private final UserRepository users;
+        private final TagRepository tags;
+        private final CategoryRepository categories;
+        private final CategoryClosureRepository categoryClosure;
+
+        Repositories(EntityManager entityManager) {
+            this.entityManager = entityManager;
+            JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+            ArticleSummaryRepositoryImpl summaries = new ArticleSummaryRepositoryImpl();
+            ReflectionTestUtils.setField(summaries, "entityManager", entityManager);
+            this.articles = factory.getRepository(ArticleRepository.class, RepositoryFragments.just(summaries));
+            this.readingHistory = factory.getRepository(ReadingHistoryRepository.class);
+            this.readingHistoryDaily = factory.getRepository(ReadingHistoryDailyRepository.class);
+            this.articleViewDaily = factory.getRepository(ArticleViewDailyRepository.class);
+            this.comments = factory.getRepository(CommentRepository.class);
+            this.favorites = factory.getRepository(FavoriteRepository.class);
+            this.users = factory.getRepository(UserRepository.class);
+            this.tags = factory.getRepository(TagRepository.class);
+            this.categories = factory.getRepository(CategoryRepository.class);
+            this.categoryClosure = factory.getRepository(CategoryClosureRepository.class);
+        }
+    }
+
+    private static final class CapturedStatement {
+        private final String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        CapturedStatement(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    // Một lần gọi setXxx(index, value, ...) trên PreparedStatement, phát lại trên câu EXPLAIN
+    private static final class Binding {
+        private final Method method;
+        private final Object[] args;
+
+        Binding(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    private static EntityManager createEntityManager(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(capturing(dataSource));
+        factoryBean.setPackagesToScan(Article.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Cùng chiến lược đặt tên với Spring Boot (ReadingHistory -> reading_history)
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.hbm2ddl.auto", "none"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean;
+        return factoryBean.getObject().createEntityManager();
+    }
+
+    private static DataSource capturing(DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return capturing(super.getConnection());
+            }
+        };
+    }
+
+    private static Connection capturing(Connection target) {
+        return (Connection) Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if ("prepareStatement".equals(method.getName()) && result instanceof PreparedStatement statement) {
+                        return capturing(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement capturing(PreparedStatement target, String sql) {
+        CapturedStatement captured = new CapturedStatement(sql);
+        return (PreparedStatement) Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && method.getParameterTypes()[0] == int.class) {
+                        captured.bindings.add(new Binding(method, args));
+                    } else if (method.getName().startsWith("execute")) {
+                        CAPTURED.add(captured);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * EXPLAIN hiện alias (a1_0) thay vì tên bảng: tìm tên bảng đứng trước alias
+     * trong câu SQL
+     */
+    private static String tableName(String alias, String sql) {
+        Matcher matcher = Pattern.compile("(?i)\\b(?:from|join)\\s+(\\w+)\\s+(?:as\\s+)?" + Pattern.quote(alias) + "\\b")
+                .matcher(sql);
+        return matcher.find() ? matcher.group(1).toLowerCase() : alias;
+    }
+
+    private static Arguments query(String name, Consumer<Repositories> call, String... allowedFullScans) {
+        return Arguments.of(name, call, Set.of(allowedFullScans));
+    }
+
+    private static Arguments seek(String name, Consumer<Repositories> call) {
+        return Arguments.of(name, call);
+    }
+
+    private static int version(Resource migration) {
+        Matcher matcher = MIGRATION_VERSION.matcher(migration.getFilename());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Invalid migration name: " + migration.getFilename());
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.newswebsite.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * So sánh tìm kiếm FULLTEXT (ft_search) với LIKE trên 100.000 bài viết tiếng
+ * Việt, mỗi lần gồm trang 20 kết quả và câu COUNT như SearchService. Cần
+ * Docker; chạy bằng main (sau mvn test-compile) với classpath test.
+ *
+ * Câu SQL giống các truy vấn searchFullText và searchArticles (LIKE) của
+ * ArticleRepository; từ khóa FULLTEXT ở dạng SearchService.prepareKeyword tạo ra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String FULLTEXT = "SELECT a.article_id, MATCH(a.title, a.summary, a.content) "
+            + "AGAINST (? IN BOOLEAN MODE) AS score FROM articles a WHERE a.status = 'PUBLISHED' "
+            + "AND MATCH(a.title, a.summary, a.content) AGAINST (? IN BOOLEAN MODE) "
+            + "ORDER BY score DESC, a.created_at DESC LIMIT 20";
+
+    private static final String FULLTEXT_COUNT = "SELECT COUNT(*) FROM articles a WHERE a.status = 'PUBLISHED' "
+            + "AND MATCH(a.title, a.summary, a.content) AGAINST (? IN BOOLEAN MODE)";
+
+    private static final String LIKE = "SELECT a.article_id FROM articles a WHERE a.status = 'PUBLISHED' "
+            + "AND (LOWER(a.title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(a.summary) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "OR LOWER(a.content) LIKE LOWER(CONCAT('%', ?, '%'))) ORDER BY a.created_at DESC LIMIT 20";
+
+    private static final String LIKE_COUNT = "SELECT COUNT(*) FROM articles a WHERE a.status = 'PUBLISHED' "
+            + "AND (LOWER(a.title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(a.summary) LIKE LOWER(CONCAT('%', ?, '%')) "
+            + "OR LOWER(a.content) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    // Từ khóa người dùng nhập; âm tiết 2 ký tự chỉ tìm được khi min token size là 2
+    @Param({ "hà nội", "mỹ", "đà nẵng", "kinh tế" })
+    private String keyword;
+
+    private MySQLContainer<?> mysql;
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws Exception {
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withCommand("--lower-case-table-names=1", "--innodb-ft-min-token-size=2");
+        mysql.start();
+        connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        QueryPlanTest.createSchema(connection);
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/search-benchmark-seed.sql"));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        mysql.stop();
+    }
+
+    @Benchmark
+    public long fullText() throws SQLException {
+        String query = String.join("* ", keyword.split(" ")) + "*";
+        return run(FULLTEXT, query, query) + run(FULLTEXT_COUNT, query);
+    }
+
+    @Benchmark
+    public long like() throws SQLException {
+        return run(LIKE, keyword, keyword, keyword) + run(LIKE_COUNT, keyword, keyword, keyword);
+    }
+
+    private long run(String sql, String... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setString(i + 1, params[i]);
+            }
+            long sum = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    sum += rows.getLong(1);
+                }
+            }
+            return sum;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.newswebsite.domain.response.ArticleSummaryDTO;
+import com.example.newswebsite.domain.response.CursorPage;
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.service.FeedCacheService.Feed;
+import com.example.newswebsite.util.ArticleStatus;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 8, 0);
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private CategoryTreeService categoryTreeService;
+
+    @InjectMocks
+    private ArticleService articleService;
+
+    @Test
+    void categoryFeedReadsSubtreeInOneQuery() {
+        ReflectionTestUtils.setField(articleService, "maxCursorSize", 50);
+        CategoryTreeService.Snapshot snapshot = mock(CategoryTreeService.Snapshot.class);
+        when(snapshot.descendantIds(1)).thenReturn(Set.of(2, 1));
+        when(categoryTreeService.snapshot()).thenReturn(snapshot);
+        // Cây con lấy từ snapshot, một câu lệnh cho cả cây con (lấy thừa một bài)
+        when(articleRepository.findSummariesByCategoriesSeek(Set.of(1, 2), ArticleStatus.PUBLISHED, null, null, 4))
+                .thenReturn(List.of(summary(10, 1), summary(9, 2), summary(8, 4), summary(7, 4)));
+
+        CursorPage<ArticleSummaryDTO> page = articleService.getFeedByCursor(Feed.CATEGORY, 1, null, 3, false);
+
+        assertEquals(List.of(10, 9, 8), page.getContent().stream().map(ArticleSummaryDTO::getArticleId).toList());
+        assertTrue(page.isHasNext());
+    }
+
+    private static ArticleSummaryDTO summary(Integer articleId, int minutesAgo) {
+        LocalDateTime createdAt = NOW.minusMinutes(minutesAgo);
+        return new ArticleSummaryDTO(articleId, "Tin " + articleId, null, null, null, null, null, createdAt, createdAt,
+                ArticleStatus.PUBLISHED);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+
+class GoogleJwksServiceTest {
+
+    private static final String JWKS_URL = "https://jwks.test/certs";
+
+    private static RSAKey key1;
+    private static RSAKey key2;
+
+    private MockRestServiceServer server;
+    private GoogleJwksService jwksService;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        key1 = new RSAKeyGenerator(2048).keyID("k1").generate();
+        key2 = new RSAKeyGenerator(2048).keyID("k2").generate();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        jwksService = new GoogleJwksService(restTemplate);
+        ReflectionTestUtils.setField(jwksService, "jwksUrl", JWKS_URL);
+        ReflectionTestUtils.setField(jwksService, "defaultMaxAgeSeconds", 3600L);
+        ReflectionTestUtils.setField(jwksService, "refreshAheadSeconds", 300L);
+        ReflectionTestUtils.setField(jwksService, "unknownKidRefetchIntervalMs", 60_000L);
+    }
+
+    @Test
+    void keySetIsCachedForMaxAge() {
+        expectKeys("public, max-age=3600", key1);
+
+        JWSVerifier first = jwksService.getVerifier("k1");
+        JWSVerifier second = jwksService.getVerifier("k1");
+
+        assertNotNull(first);
+        assertSame(first, second);
+        server.verify();
+    }
+
+    @Test
+    void expiredKeySetIsRefetched() {
+        expectKeys("public, max-age=0", key1);
+        expectKeys("public, max-age=3600", key1);
+
+        JWSVerifier first = jwksService.getVerifier("k1");
+        // Bộ khóa hết hạn ngay, lần sau phải tải lại (không bị backoff chặn)
+        allowNextAttempt();
+        JWSVerifier second = jwksService.getVerifier("k1");
+
+        assertNotNull(first);
+        assertNotNull(second);
+        server.verify();
+    }
+
+    @Test
+    void unknownKidRefetchIsRateLimited() {
+        expectKeys("public, max-age=3600", key1);
+
+        assertNotNull(jwksService.getVerifier("k1"));
+        // Vừa tải xong: kid lạ không kích hoạt tải lại
+        assertNull(jwksService.getVerifier("k2"));
+        assertNull(jwksService.getVerifier("k2"));
+        server.verify();
+    }
+
+    @Test
+    void rotatedKeyIsPickedUpOnUnknownKid() {
+        expectKeys("public, max-age=3600", key1);
+        expectKeys("public, max-age=3600", key2);
+
+        assertNotNull(jwksService.getVerifier("k1"));
+        allowNextAttempt();
+        assertNotNull(jwksService.getVerifier("k2"));
+        // k1 đã bị Google bỏ, và lần tải lại tiếp theo bị giới hạn tần suất
+        assertNull(jwksService.getVerifier("k1"));
+        server.verify();
+    }
+
+    @Test
+    void expiredKeySetIsServedWithBackoffWhileGoogleIsDown() {
+        expectKeys("public, max-age=0", key1);
+        server.expect(once(), requestTo(JWKS_URL)).andRespond(withServerError());
+
+        JWSVerifier loaded = jwksService.getVerifier("k1");
+        allowNextAttempt();
+        // Tải lỗi: dùng bộ khóa cũ; các request sau trong khoảng backoff không gọi Google
+        assertSame(loaded, jwksService.getVerifier("k1"));
+        assertSame(loaded, jwksService.getVerifier("k1"));
+        assertSame(loaded, jwksService.getVerifier("k1"));
+        server.verify();
+    }
+
+    @Test
+    void failedStartupLoadIsRetriedInBackground() {
+        server.expect(once(), requestTo(JWKS_URL)).andRespond(withServerError());
+        expectKeys("public, max-age=3600", key1);
+
+        // Chưa có bộ khóa (lần tải lúc khởi động lỗi): lỗi chỉ được ghi log, lần
+        // kiểm tra sau tải lại
+        jwksService.refreshIfExpiring();
+        jwksService.refreshIfExpiring();
+
+        assertNotNull(jwksService.getVerifier("k1"));
+        server.verify();
+    }
+
+    private void expectKeys(String cacheControl, RSAKey... keys) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        String body = new JWKSet(List.<JWK>of(keys)).toPublicJWKSet().toString();
+        server.expect(once(), requestTo(JWKS_URL))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+    }
+
+    // Giả lập khoảng backoff đã trôi qua kể từ lần tải trước
+    private void allowNextAttempt() {
+        ReflectionTestUtils.setField(jwksService, "lastAttemptAt", Instant.EPOCH);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.newswebsite.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+
+/**
+ * So sánh xác minh token nội bộ khi có và không có cache claims. Chạy bằng
+ * main (sau mvn test-compile) với classpath test, ví dụ từ IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = JwtServiceTest.create();
+        // Cùng parser mà JwtService dùng khi cache không có token
+        parser = Jwts.parserBuilder().setSigningKey(Decoders.BASE64.decode(JwtServiceTest.SECRET)).build();
+        token = jwtService.generateToken("google-1", "user");
+    }
+
+    @Benchmark
+    public JwtService.TokenClaims parseCached() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseWithoutCache() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtServiceTest {
+
+    static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef"
+                    .getBytes(StandardCharsets.UTF_8));
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = create();
+    }
+
+    static JwtService create() {
+        JwtService service = new JwtService(new SimpleMeterRegistry(), null);
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "claimsCacheMaxSize", 10_000L);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void secondParseIsServedFromCache() {
+        String token = jwtService.generateToken("google-1", "user");
+
+        JwtService.TokenClaims first = jwtService.parseToken(token);
+        JwtService.TokenClaims second = jwtService.parseToken(token);
+
+        assertEquals("google-1", first.getSubject());
+        assertEquals("user", first.getRole());
+        assertSame(first, second);
+    }
+
+    @Test
+    void cachedClaimsAreNotServedAfterExpiry() throws InterruptedException {
+        String token = Jwts.builder()
+                .setSubject("google-1")
+                .claim("role", "user")
+                .setExpiration(new Date(System.currentTimeMillis() + 1500))
+                .signWith(SignatureAlgorithm.HS512, Base64.getDecoder().decode(SECRET))
+                .compact();
+        Instant expiresAt = jwtService.parseToken(token).getExpiresAt();
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis()) + 100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(token));
+        assertNull(jwtService.verifyToken(token));
+    }
+
+    @Test
+    void tamperedTokenIsNotServedFromCache() {
+        String token = jwtService.generateToken("google-1", "user");
+        assertNotNull(jwtService.parseToken(token));
+
+        // Đổi payload (subject, role) nhưng giữ chữ ký của token đã cache
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"sub\":\"google-1\",\"role\":\"admin\",\"exp\":" + (System.currentTimeMillis() / 1000 + 3600) + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+        assertNull(jwtService.verifyToken(tampered));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.newswebsite.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadingHistoryIngestServiceTest {
+
+    private static final LocalDateTime VIEWED_AT = LocalDateTime.of(2024, 5, 1, 8, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ReadingHistoryIngestService ingestService = new ReadingHistoryIngestService(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), userRepository,
+            mock(StatsCounterService.class), new SimpleMeterRegistry());
+
+    @TempDir
+    Path dir;
+
+    private Path spill;
+    private Path replay;
+
+    @BeforeEach
+    void setUp() {
+        spill = dir.resolve("spill.log");
+        replay = dir.resolve("spill.log.replay");
+        ReflectionTestUtils.setField(ingestService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(ingestService, "batchSize", 2);
+        ReflectionTestUtils.setField(ingestService, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(ingestService, "spillFile", spill.toString());
+        ReflectionTestUtils.setField(ingestService, "shutdownTimeoutMs", 1000L);
+        when(userRepository.findIdsByGoogleIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[] { "g1", 1 }));
+        // Khởi tạo hàng đợi và metric; luồng ghi dừng ngay vì chưa có file tạm
+        ingestService.start();
+        ingestService.stop();
+    }
+
+    @Test
+    void replayStopsWhileDbIsDownAndResumesWithoutDuplicates() throws IOException {
+        writeViews(spill, 1, 2, 3, 4, 5);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] { 1, 1 })
+                .thenThrow(new CannotGetJdbcConnectionException("db down"))
+                .thenReturn(new int[] { 1, 1 });
+
+        replaySpill();
+        // Lô thứ hai lỗi: giữ file, đánh dấu đã ghi 2 dòng đầu
+        assertTrue(Files.exists(replay));
+
+        replaySpill();
+        assertFalse(Files.exists(replay));
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(3, 4), List.of(5)), writtenBatches(4));
+    }
+
+    @Test
+    void leftoverReplayFileIsReplayedBeforeNewSpill() throws IOException {
+        writeViews(replay, 1);
+        writeViews(spill, 2);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+
+        replaySpill();
+        // File .replay cũ không bị ghi đè, file tạm mới được nạp ở lần sau
+        assertTrue(Files.exists(spill));
+
+        replaySpill();
+        assertFalse(Files.exists(spill));
+        assertFalse(Files.exists(replay));
+        assertEquals(List.of(List.of(1), List.of(2)), writtenBatches(2));
+    }
+
+    private void replaySpill() {
+        ReflectionTestUtils.invokeMethod(ingestService, "replaySpill");
+    }
+
+    private static void writeViews(Path file, Integer... articleIds) throws IOException {
+        Files.write(file, IntStream.range(0, articleIds.length)
+                .mapToObj(i -> "g1\t" + articleIds[i] + "\t" + VIEWED_AT.plusMinutes(i))
+                .collect(Collectors.toList()));
+    }
+
+    // articleId của từng lô đã gửi xuống DB, kể cả lô bị lỗi
+    private List<List<Integer>> writtenBatches(int calls) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(calls)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues().stream()
+                .map(batch -> batch.stream().map(row -> (Integer) row[1]).toList())
+                .toList();
+    }
+}
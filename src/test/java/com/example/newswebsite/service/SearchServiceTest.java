@@ -0,0 +1,54 @@
+package com.example.newswebsite.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.newswebsite.repository.ArticleRepository;
+import com.example.newswebsite.service.SearchService.SearchMode;
+import com.example.newswebsite.util.ArticleStatus;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(searchService, "defaultMode", SearchMode.FULLTEXT);
+        ReflectionTestUtils.setField(searchService, "minTokenSize", 2);
+    }
+
+    @Test
+    void twoLetterSyllablesAreSearchedWithFullText() {
+        when(articleRepository.searchFullText(any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        searchService.searchArticles("Hà Nội (mỹ) a", null, PageRequest.of(0, 10));
+
+        // Toán tử boolean mode bị bỏ, từ 1 ký tự không có trong chỉ mục
+        verify(articleRepository).searchFullText(eq("Hà* Nội* mỹ*"), eq(ArticleStatus.PUBLISHED.name()),
+                any(Pageable.class));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.newswebsite.repository.TagRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TagResolverServiceTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private ContentVersionService contentVersionService;
+
+    @InjectMocks
+    private TagResolverService tagResolverService;
+
+    @Test
+    void dStrokeAndPlainDResolveToDifferentTags() {
+        when(tagRepository.findIdsAndNamesByNameIn(anyCollection())).thenReturn(List.of(
+                new Object[] { 1, "Đà Nẵng" },
+                new Object[] { 2, "Da Nang" }));
+        when(tagRepository.findExistingIds(anyCollection())).thenReturn(List.of(1, 2));
+
+        Map<String, Integer> ids = tagResolverService.resolveIds(List.of("Đà Nẵng", "Da Nang", "đà nẵng"));
+
+        assertEquals(Map.of("Đà Nẵng", 1, "Da Nang", 2, "đà nẵng", 1), ids);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void tagDeletedElsewhereIsCreatedAgain() {
+        when(tagRepository.findIdsAndNamesByNameIn(anyCollection())).thenReturn(
+                List.<Object[]>of(new Object[] { 5, "Thời sự" }),
+                List.of(),
+                List.<Object[]>of(new Object[] { 6, "Thời sự" }));
+        when(tagRepository.findExistingIds(anyCollection())).thenReturn(List.of(5), List.of());
+
+        assertEquals(Map.of("Thời sự", 5), tagResolverService.resolveIds(List.of("Thời sự")));
+        // Từ điển còn id 5 nhưng tag đã bị xóa trên instance khác
+        assertEquals(Map.of("Thời sự", 6), tagResolverService.resolveIds(List.of("Thời sự")));
+
+        verify(jdbcTemplate).update(anyString(), any(Object[].class));
+    }
+}
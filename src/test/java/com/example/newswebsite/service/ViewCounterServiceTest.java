@@ -0,0 +1,48 @@
+package com.example.newswebsite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ViewCounterServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ViewCounterService viewCounterService = new ViewCounterService(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    @Test
+    void failedDailyWriteKeepsViewsPendingForBothTargets() {
+        viewCounterService.increment(7);
+        viewCounterService.increment(7);
+        viewCounterService.increment(7);
+        doThrow(new QueryTimeoutException("lock wait timeout")).doReturn(new int[] { 1 })
+                .when(jdbcTemplate).batchUpdate(contains("article_view_daily"), anyList());
+
+        viewCounterService.flush();
+        // Ghi theo ngày lỗi thì cả lô bị rollback: lượt xem vẫn chờ ghi
+        assertEquals(3, viewCounterService.getPending(7));
+
+        viewCounterService.flush();
+        assertEquals(0, viewCounterService.getPending(7));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> daily = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("article_view_daily"), daily.capture());
+        // [ngày, số lượt xem, articleId]
+        assertEquals(3L, daily.getValue().get(0)[1]);
+        assertEquals(7, daily.getValue().get(0)[2]);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.newswebsite.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReplayingRebuilderTest {
+
+    @Test
+    void updatesDuringBuildAreReplayedOnFreshCopy() {
+        ReplayingRebuilder<List<String>> rebuilder = new ReplayingRebuilder<>("test", new ArrayList<>());
+
+        List<String> built = rebuilder.rebuild(() -> {
+            rebuilder.apply(list -> list.add("concurrent"));
+            return new ArrayList<>(List.of("loaded"));
+        });
+
+        assertEquals(List.of("loaded", "concurrent"), built);
+        assertEquals(built, rebuilder.read(list -> list));
+        assertTrue(rebuilder.isReady());
+    }
+
+    @Test
+    void failedBuildStopsRecordingAndCanBeRetried() {
+        List<String> initial = new ArrayList<>();
+        ReplayingRebuilder<List<String>> rebuilder = new ReplayingRebuilder<>("test", initial);
+
+        assertNull(rebuilder.rebuild(() -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertFalse(rebuilder.isReady());
+        assertFalse(rebuilder.isRebuilding());
+
+        // Sau khi lỗi, cập nhật chỉ áp dụng lên bản hiện tại và không bị ghi lại
+        rebuilder.apply(list -> list.add("after failure"));
+        List<String> built = rebuilder.rebuild(ArrayList::new);
+
+        assertEquals(List.of("after failure"), initial);
+        assertEquals(List.of(), built);
+        assertTrue(rebuilder.isReady());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.newswebsite.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class VietnameseTokenizerTest {
+
+    @Test
+    void foldMapsDToDForSearch() {
+        assertEquals("da nang", VietnameseTokenizer.fold("Đà Nẵng"));
+        assertEquals(List.of("da", "nang"), VietnameseTokenizer.tokenize("<b>Đà</b> Nẵng"));
+    }
+
+    @Test
+    void collationKeyKeepsDStrokeLikeDatabaseCollation() {
+        assertEquals(VietnameseTokenizer.collationKey("đà nẵng"), VietnameseTokenizer.collationKey("ĐÀ NẴNG"));
+        assertEquals(VietnameseTokenizer.collationKey("Thời sự"), VietnameseTokenizer.collationKey("thoi su"));
+        assertNotEquals(VietnameseTokenizer.collationKey("Đà Nẵng"), VietnameseTokenizer.collationKey("Da Nang"));
+    }
+}
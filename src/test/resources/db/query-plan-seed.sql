@@ -0,0 +1,65 @@
+SET SESSION cte_max_recursion_depth = 100000;
+SET FOREIGN_KEY_CHECKS = 0;
+
+INSERT INTO users (user_id, google_id, is_editor, name, email, created_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 500)
+SELECT 100000 + n, CONCAT('seed-', n), b'0', CONCAT('Seed user ', n), CONCAT('seed', n, '@example.com'), NOW()
+FROM seq;
+
+INSERT INTO categories (category_id, name, description, parent_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20)
+SELECT 100000 + n, CONCAT('Seed category ', n), NULL, IF(n > 10, 100001 + n % 5, NULL)
+FROM seq;
+
+-- Danh mục 11..20 là con của 1..5
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+SELECT category_id, category_id, 0 FROM categories WHERE category_id > 100000
+UNION ALL
+SELECT parent_id, category_id, 1 FROM categories WHERE category_id > 100000 AND parent_id IS NOT NULL;
+
+INSERT INTO articles (article_id, title, summary, content, created_at, updated_at, status, author_id, category_id, view_count)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20000)
+SELECT 100000 + n, CONCAT('Seed article ', n), CONCAT('Summary ', n), CONCAT('Content of seed article ', n),
+       NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE,
+       IF(n % 10 = 0, 'PENDING', 'PUBLISHED'), 100001 + n % 500, 100001 + n % 20, n % 1000
+FROM seq;
+
+INSERT INTO tags (tag_id, name)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 2000)
+SELECT 100000 + n, CONCAT('seed-tag-', n)
+FROM seq;
+
+INSERT INTO article_tags (article_id, tag_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 40000)
+SELECT 100001 + n % 20000, 100001 + (n + (n DIV 20000) * 7) % 2000
+FROM seq;
+
+INSERT INTO reading_history (user_id, article_id, viewed_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000)
+SELECT 100001 + n % 500, 100001 + n % 20000, NOW() - INTERVAL (n * 5) MINUTE
+FROM seq;
+
+INSERT INTO comments (content, created_at, article_id, user_id, parent_comment_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 50000)
+SELECT CONCAT('Seed comment ', n), NOW() - INTERVAL (n * 10) MINUTE, 100001 + n % 20000, 100001 + n % 500, NULL
+FROM seq;
+
+INSERT INTO favorites (active, favorited_at, user_id, article_id)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 9999)
+SELECT b'1', NOW() - INTERVAL n MINUTE, 100001 + n % 500, 100001 + FLOOR(n / 500)
+FROM seq;
+
+INSERT INTO reading_history_daily (user_id, article_id, view_date, view_count, last_viewed_at)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 50000)
+SELECT 100001 + n % 500, 100001 + n % 20000, DATE(NOW() - INTERVAL (400 + n % 300) DAY), 1 + n % 5,
+       NOW() - INTERVAL (400 + n % 300) DAY
+FROM seq;
+
+INSERT INTO article_view_daily (article_id, view_date, view_count)
+WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < 59999)
+SELECT 100001 + n % 2000, CURDATE() - INTERVAL FLOOR(n / 2000) * 10 DAY, 1 + n % 50
+FROM seq;
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+ANALYZE TABLE users, categories, category_closure, articles, tags, article_tags, reading_history, reading_history_daily, article_view_daily, comments, favorites;
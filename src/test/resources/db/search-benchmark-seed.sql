@@ -0,0 +1,30 @@
+SET SESSION cte_max_recursion_depth = 100000;
+SET FOREIGN_KEY_CHECKS = 0;
+
+-- 100.000 bài viết ghép từ các âm tiết tiếng Việt; mỗi cột chọn âm tiết theo
+-- các bước khác nhau để phân bố từ khóa không đều
+INSERT INTO articles (article_id, title, summary, content, created_at, updated_at, status, author_id, category_id, view_count)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 100000),
+words (w) AS (SELECT 'hà,nội,mỹ,đà,nẵng,kinh,tế,xã,hội,thể,thao,bóng,đá,giá,vàng,thời,tiết,giáo,dục,y,tế,công,nghệ,du,lịch,sài,gòn,huế,chính,phủ,quốc,hội,người,dân,thị,trường,chứng,khoán,ô,tô')
+SELECT n,
+       CONCAT_WS(' ', SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + n % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 7) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 13) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 17) % 40), ',', -1)),
+       CONCAT_WS(' ', SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 3) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 11) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 19) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 23) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 29) % 40), ',', -1)),
+       REPEAT(CONCAT_WS(' ', SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 31) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 37) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 47) % 40), ',', -1),
+                 SUBSTRING_INDEX(SUBSTRING_INDEX(w, ',', 1 + (n * 43) % 40), ',', -1),
+                 'tin tức trong ngày. '), 20),
+       NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE,
+       IF(n % 10 = 0, 'PENDING', 'PUBLISHED'), NULL, NULL, 0
+FROM seq, words;
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+ANALYZE TABLE articles;